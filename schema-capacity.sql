@@ -0,0 +1,5 @@
+-- Adds an optional seat limit to activities.
+-- NULL means unlimited; ParticipantDao refuses registrations once
+-- participant_count reaches max_participants.
+
+ALTER TABLE activity ADD COLUMN max_participants INT NULL DEFAULT NULL;
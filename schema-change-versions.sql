@@ -0,0 +1,20 @@
+-- Change counters behind the dashboards' auto refresh.
+-- The DAOs add 1 to a table's version after every committed write to it;
+-- the Swing poller reads this table once per interval and reloads a panel
+-- only when one of the tables it shows has a new version.
+
+CREATE TABLE table_versions (
+    table_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_versions (table_name) VALUES
+    ('association'),
+    ('faculty'),
+    ('student'),
+    ('event'),
+    ('activity'),
+    ('association_members'),
+    ('association_faculty_advisers'),
+    ('activity_participants'),
+    ('activity_winners');
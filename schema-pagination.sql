@@ -0,0 +1,12 @@
+-- Indexes backing the keyset page queries.
+-- Primary keys already serve the findPage(afterId, limit) methods.
+-- idx_participants_activity_registered covers the sort key of
+-- FacultyDao.getParticipantsForActivityPage, so each of its pages is a range scan.
+-- ParticipantDao.findAllActivitiesPage sorts by columns of both event and activity,
+-- which no single index can serve, so MySQL sorts each page's joined rows:
+-- idx_event_date only skips the events of earlier pages, and
+-- idx_activity_event_start serves the join from event to activity.
+
+CREATE INDEX idx_event_date ON event (event_date, event_id);
+CREATE INDEX idx_activity_event_start ON activity (event_id, start_time, activity_id);
+CREATE INDEX idx_participants_activity_registered ON activity_participants (activity_id, registered_on, student_id);
@@ -4,6 +4,8 @@ import com.deptassoc.ui.ConsoleUI;
 import com.deptassoc.ui.LoginUI;
 import com.deptassoc.auth.AuthManager;
 import com.deptassoc.auth.AuthResult;
+import com.deptassoc.dao.ParticipantCountReconciler;
+import com.deptassoc.dao.RegistrationQueue;
 
 /**
  * CHANGED: Main entry point for the Department Association Management System.
@@ -15,6 +17,13 @@ public class Main {
             // Initialize authentication system
             AuthManager.init();
             
+            // Periodically repair participant_count drift
+            ParticipantCountReconciler.start();
+            
+            // Apply queued registrations on every exit path, including System.exit
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(RegistrationQueue::shutdownIfStarted, "registration-queue-shutdown"));
+            
             // Show login screen
             LoginUI loginUI = new LoginUI();
             AuthResult authResult = loginUI.promptLogin();
@@ -31,6 +40,7 @@ public class Main {
             
             ConsoleUI ui = new ConsoleUI(authResult);
             ui.start();
+            RegistrationQueue.shutdownIfStarted();
         } catch (Exception e) {
             System.err.println("Fatal error: " + e.getMessage());
             e.printStackTrace();
@@ -1,5 +1,6 @@
 package com.deptassoc.auth;
 
+import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.util.PasswordUtil;
 import com.deptassoc.dao.StudentDao;
 import com.deptassoc.dao.FacultyDao;
@@ -9,21 +10,41 @@ import com.deptassoc.model.Faculty;
 import com.deptassoc.model.AssociationMember;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages user authentication and role-based access.
  * Loads users from users.json and handles credential verification.
+ * Users are indexed by username and by type+id (see UserStore), and
+ * authenticate may be called from any thread.
+ * 
+ * When auth.usersFile.watch is on, changes made to users.json while the
+ * application runs are picked up by a background reload (UsersFileWatcher).
+ * 
+ * Changes made here (create, password update, disable) are appended to
+ * users.journal rather than rewriting users.json each time (see UserJournal).
+ * The journal is replayed over users.json on load, and folded into a new
+ * users.json once it holds auth.journal.compactEntries entries.
  */
 public class AuthManager {
     
     private static final String USERS_FILE = "users.json";
-    private static final List<Map<String, Object>> users = new ArrayList<>();
-    private static boolean initialized = false;
-    private static int loginAttempts = 0;
+    private static final String JOURNAL_FILE = "users.journal";
+    private static final UserStore users = new UserStore();
+    private static volatile boolean initialized = false;
+    private static final AtomicInteger loginAttempts = new AtomicInteger();
     private static final int MAX_LOGIN_ATTEMPTS = 5;
+    // Size and modification time of the users.json last loaded or written, to skip reloading our own writes
+    private static volatile String loadedStamp;
+    private static boolean watching = false;
+    // Guarded by AuthManager.class; the journal is opened by the first successful load
+    private static boolean loaded = false;
+    private static UserJournal journal;
     
     /**
      * Initializes the AuthManager by loading users.json.
@@ -31,30 +52,175 @@ public class AuthManager {
     public static void init() {
         loadUsers();
         initialized = true;
+        startWatching();
     }
     
     /**
-     * Loads users from users.json into memory.
+     * Loads users from users.json into memory and replays users.journal over them.
      */
-    private static void loadUsers() {
-        users.clear();
+    private static synchronized void loadUsers() {
         File file = new File(USERS_FILE);
+        Path journalPath = Paths.get(JOURNAL_FILE);
         
-        if (!file.exists()) {
+        if (!file.exists() && !Files.exists(journalPath)) {
             System.out.println("\n⚠️  users.json not found. No users configured.");
             System.out.println("To create initial users, call: AuthManager.createInitialUsers()");
+            users.clear();
+            loaded = true;
             return;
         }
         
+        List<UserJournal.Entry> entries;
         try {
-            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-            users.addAll(parseJsonArray(content));
-            System.out.println("✓ Loaded " + users.size() + " users from users.json");
+            String stamp = file.exists() ? stampOf(file) : null;
+            List<UserRecord> snapshot = file.exists() ? UsersJsonReader.read(file.toPath()) : new ArrayList<>();
+            entries = UserJournal.replay(journalPath);
+            if (swapIn(applyJournal(snapshot, entries), -1)) {
+                loadedStamp = stamp;
+            }
+            loaded = true;
+            System.out.println("✓ Loaded " + users.size() + " users from users.json"
+                + (entries.isEmpty() ? "" : " and " + entries.size() + " journal entries"));
         } catch (Exception e) {
             System.err.println("Error loading users.json: " + e.getMessage());
+            return;
+        }
+        
+        try {
+            if (journal == null) {
+                journal = UserJournal.open(journalPath, entries.size());
+            }
+            compactIfDue();
+        } catch (IOException e) {
+            // Logins still work; changes fail in ensureLoaded with the same message
+            System.err.println("Users cannot be changed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Loads the users if init() was not called (e.g. from SetupUtil), so a change
+     * is checked against, and compacted with, the users already on disk, and opens
+     * the journal if that has not happened yet.
+     * 
+     * @throws IOException if the users cannot be loaded or another process holds the journal
+     */
+    private static void ensureLoaded() throws IOException {
+        if (!loaded) {
+            loadUsers();
+            if (!loaded) {
+                throw new IOException("users.json could not be loaded; fix it before changing users");
+            }
+        }
+        if (journal == null) {
+            Path journalPath = Paths.get(JOURNAL_FILE);
+            journal = UserJournal.open(journalPath, UserJournal.replay(journalPath).size());
         }
     }
     
+    /**
+     * Prepares this process to change users, for tools such as SetupUtil that run
+     * next to the application: loads the users and locks users.journal.
+     * 
+     * @throws IOException if the users cannot be loaded or the application holds the journal
+     */
+    public static synchronized void openForChanges() throws IOException {
+        ensureLoaded();
+    }
+    
+    /**
+     * Applies journal entries, in order, over the users read from users.json.
+     */
+    private static List<UserRecord> applyJournal(List<UserRecord> snapshot, List<UserJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return snapshot;
+        }
+        Map<String, UserRecord> byUsername = new LinkedHashMap<>();
+        for (UserRecord user : snapshot) {
+            if (byUsername.putIfAbsent(user.getUsername(), user) != null) {
+                System.err.println("Duplicate username in users.json ignored: " + user.getUsername());
+            }
+        }
+        // Every entry holds the whole record after the change
+        for (UserJournal.Entry entry : entries) {
+            byUsername.put(entry.user.getUsername(), entry.user);
+        }
+        return new ArrayList<>(byUsername.values());
+    }
+    
+    /**
+     * Starts the users.json watcher once, if auth.usersFile.watch is on.
+     */
+    private static synchronized void startWatching() {
+        if (watching || !Boolean.parseBoolean(DBConnectionManager.getProperty("auth.usersFile.watch", "true"))) {
+            return;
+        }
+        long delay = Long.parseLong(DBConnectionManager.getProperty("auth.usersFile.reloadDelayMs", "250"));
+        try {
+            UsersFileWatcher.start(new File(USERS_FILE).toPath(), delay, AuthManager::reloadUsers);
+            watching = true;
+        } catch (IOException e) {
+            System.err.println("Cannot watch users.json for changes: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Re-reads users.json after it changed on disk (called on the watcher thread),
+     * replaying users.journal over it as at startup.
+     * Logins keep using the current users while the file is parsed; the new users
+     * replace them in one step. A missing or invalid file keeps the current users,
+     * since editors often delete or truncate a file briefly while saving it.
+     */
+    static void reloadUsers() {
+        File file = new File(USERS_FILE);
+        String stamp;
+        List<UserRecord> reloaded;
+        long version;
+        try {
+            // Read under the lock createUser holds, so the file and the store agree
+            synchronized (AuthManager.class) {
+                if (!file.exists()) {
+                    System.err.println("users.json was removed; keeping the " + users.size() + " loaded users");
+                    return;
+                }
+                stamp = stampOf(file);
+                if (stamp.equals(loadedStamp)) {
+                    return; // Our own write, or no real change
+                }
+                version = users.version();
+                reloaded = applyJournal(UsersJsonReader.read(file.toPath()),
+                    UserJournal.replay(Paths.get(JOURNAL_FILE)));
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage() + "; keeping the current users");
+            return;
+        }
+        
+        if (swapIn(reloaded, version)) {
+            loadedStamp = stamp;
+            System.out.println("✓ Reloaded " + users.size() + " users from users.json");
+        }
+        // Otherwise a user changed meanwhile; the next change to users.json reloads again
+    }
+    
+    /**
+     * Replaces the store with the users read from users.json.
+     * 
+     * @param expectedVersion the store version the file was read at, or -1
+     * @return false if the store changed since expectedVersion
+     */
+    private static boolean swapIn(List<UserRecord> loaded, long expectedVersion) {
+        List<String> duplicates = new ArrayList<>();
+        boolean replaced = users.replaceAll(loaded, expectedVersion, duplicates);
+        for (String duplicate : duplicates) {
+            System.err.println("Duplicate username in users.json ignored: " + duplicate);
+        }
+        return replaced;
+    }
+    
+    private static String stampOf(File file) {
+        return file.length() + ":" + file.lastModified();
+    }
+    
     /**
      * Authenticates a user with username and password.
      */
@@ -63,26 +229,19 @@ public class AuthManager {
             return new AuthResult(false, null, 0, username, null);
         }
         
-        if (loginAttempts >= MAX_LOGIN_ATTEMPTS) {
+        if (loginAttempts.get() >= MAX_LOGIN_ATTEMPTS) {
             System.out.println("\n❌ Maximum login attempts exceeded. Exiting.");
             System.exit(1);
         }
         
-        for (Map<String, Object> user : users) {
-            String storedUsername = (String) user.get("username");
-            if (storedUsername.equals(username)) {
-                String passwordHash = (String) user.get("passwordHash");
-                if (PasswordUtil.verify(password, passwordHash)) {
-                    String type = (String) user.get("type");
-                    int id = ((Number) user.get("id")).intValue();
-                    String displayName = getDisplayName(type, id);
-                    loginAttempts = 0; // Reset on successful login
-                    return new AuthResult(true, type, id, username, displayName);
-                }
-            }
+        UserRecord user = users.findByUsername(username);
+        if (user != null && !user.isDisabled() && PasswordUtil.verify(password, user.getPasswordHash())) {
+            String displayName = getDisplayName(user.getType(), user.getId());
+            loginAttempts.set(0); // Reset on successful login
+            return new AuthResult(true, user.getType(), user.getId(), username, displayName);
         }
         
-        loginAttempts++;
+        loginAttempts.incrementAndGet();
         return new AuthResult(false, null, 0, username, null);
     }
     
@@ -90,43 +249,181 @@ public class AuthManager {
      * Resets login attempt counter.
      */
     public static void resetLoginAttempts() {
-        loginAttempts = 0;
+        loginAttempts.set(0);
     }
     
     /**
      * Returns the number of failed login attempts.
      */
     public static int getLoginAttempts() {
-        return loginAttempts;
+        return loginAttempts.get();
     }
     
     /**
-     * Creates a new user and writes to users.json.
+     * Returns the user with a username, or null if there is none.
+     */
+    public static UserRecord findUser(String username) {
+        return users.findByUsername(username);
+    }
+    
+    /**
+     * Returns the user of a role linked to a database ID, or null if there is none.
+     */
+    public static UserRecord findUser(String type, int id) {
+        return users.findByTypeAndId(type, id);
+    }
+    
+    /**
+     * Creates a new user and records it in users.journal.
+     * Returns once the journal entry is on disk.
+     * 
+     * @throws IllegalArgumentException if the username is already taken
      */
     public static void createUser(String type, int id, String username, String password) throws Exception {
-        String passwordHash = PasswordUtil.hash(password);
+        // Hash outside the lock; it is by far the slowest step
+        UserRecord user = new UserRecord(type, id, username, PasswordUtil.hash(password));
         
-        Map<String, Object> newUser = new LinkedHashMap<>();
-        newUser.put("type", type);
-        newUser.put("id", id);
-        newUser.put("username", username);
-        newUser.put("passwordHash", passwordHash);
-        
-        users.add(newUser);
-        writeUsers();
+        long seq;
+        synchronized (AuthManager.class) {
+            ensureLoaded();
+            if (users.findByUsername(username) != null) {
+                throw new IllegalArgumentException("Username already exists: " + username);
+            }
+            seq = journal.append(UserJournal.CREATE, user);
+            users.put(user);
+        }
+        commit(seq);
         System.out.println("✓ User created: " + username + " (" + type + ")");
     }
     
     /**
-     * Writes all users to users.json atomically.
+     * Sets a new password for a user.
+     * 
+     * @throws IllegalArgumentException if there is no such user
+     */
+    public static void updatePassword(String username, String newPassword) throws Exception {
+        String passwordHash = PasswordUtil.hash(newPassword);
+        
+        long seq;
+        synchronized (AuthManager.class) {
+            ensureLoaded();
+            UserRecord updated = requireUser(username).withPasswordHash(passwordHash);
+            seq = journal.append(UserJournal.UPDATE, updated);
+            users.put(updated);
+        }
+        commit(seq);
+        System.out.println("✓ Password updated: " + username);
+    }
+    
+    /**
+     * Disables a user, who can then no longer log in.
+     * 
+     * @throws IllegalArgumentException if there is no such user
+     */
+    public static void disableUser(String username) throws Exception {
+        long seq;
+        synchronized (AuthManager.class) {
+            ensureLoaded();
+            UserRecord disabled = requireUser(username).asDisabled();
+            seq = journal.append(UserJournal.DISABLE, disabled);
+            users.put(disabled);
+        }
+        commit(seq);
+        System.out.println("✓ User disabled: " + username);
+    }
+    
+    private static UserRecord requireUser(String username) {
+        UserRecord user = users.findByUsername(username);
+        if (user == null) {
+            throw new IllegalArgumentException("No such user: " + username);
+        }
+        return user;
+    }
+    
+    /**
+     * Waits for a journal entry to reach the disk, then compacts if the journal is full.
+     * Called without the lock, so concurrent changes share one fsync.
      */
-    private static void writeUsers() throws Exception {
+    private static void commit(long seq) throws IOException {
+        UserJournal target;
+        synchronized (AuthManager.class) {
+            target = journal;
+        }
+        target.sync(seq);
+        compactIfDue();
+    }
+    
+    /**
+     * Writes users.json and empties the journal once it holds auth.journal.compactEntries entries.
+     */
+    private static synchronized void compactIfDue() throws IOException {
+        int threshold = Integer.parseInt(DBConnectionManager.getProperty("auth.journal.compactEntries", "1000"));
+        if (journal != null && journal.size() >= threshold) {
+            compact();
+        }
+    }
+    
+    /**
+     * Folds the journal into users.json. The new users.json is on disk before the
+     * journal is emptied, so a crash in between only replays entries it already has.
+     */
+    private static synchronized void compact() throws IOException {
+        writeUsers(users.all());
+        journal.truncate();
+    }
+    
+    /**
+     * Adds many users in one step. users.json is rewritten once with the current and
+     * the new users (folding in the journal), and only then are the new users swapped
+     * into the store together, so a failure leaves both the file and the store as they were.
+     * 
+     * @param imported users with hashed passwords
+     * @param skipped receives the usernames not imported because they are already taken
+     * @return the number of users imported
+     */
+    public static synchronized int importUsers(List<UserRecord> imported, List<String> skipped) throws IOException {
+        ensureLoaded();
+        List<UserRecord> all = users.all();
+        Set<String> taken = new HashSet<>();
+        for (UserRecord user : all) {
+            taken.add(user.getUsername());
+        }
+        int count = 0;
+        for (UserRecord user : imported) {
+            if (taken.add(user.getUsername())) {
+                all.add(user);
+                count++;
+            } else {
+                skipped.add(user.getUsername());
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        
+        writeUsers(all);
+        journal.truncate();
+        swapIn(all, -1);
+        return count;
+    }
+    
+    /**
+     * Writes users to users.json atomically.
+     */
+    private static void writeUsers(List<UserRecord> userList) throws IOException {
         File file = new File(USERS_FILE);
-        String json = toJsonArray(users);
+        byte[] json = UsersJsonWriter.toJsonArray(userList).getBytes(StandardCharsets.UTF_8);
         
-        // Atomic write using temp file
+        // Atomic write using temp file, forced to disk before it replaces users.json
         File tempFile = new File(USERS_FILE + ".tmp");
-        Files.write(tempFile.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(json);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
         
         // Set restrictive permissions (Unix-like)
         tempFile.setReadable(false, false);
@@ -136,24 +433,36 @@ public class AuthManager {
         
         // Atomic rename
         Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        loadedStamp = stampOf(file);
         System.out.println("✓ users.json updated");
     }
     
     /**
      * Creates sample initial users (for first-time setup).
      * Call this manually once to populate users.json with examples.
+     * Replaces any existing users, including those in users.journal.
      */
-    public static void createInitialUsers() throws Exception {
+    public static synchronized void createInitialUsers() throws Exception {
         System.out.println("\n--- Creating Initial Users ---");
         
-        // Clear existing users
-        users.clear();
-        
         // Sample users (IDs should match actual DB records)
-        createUser("STUDENT", 1, "alice", "password123");
-        createUser("STUDENT", 2, "bob", "password123");
-        createUser("FACULTY", 1, "drsmith", "faculty123");
-        createUser("ASSOCIATION_MEMBER", 1, "ashok", "member123");
+        List<UserRecord> initial = Arrays.asList(
+            new UserRecord("STUDENT", 1, "alice", PasswordUtil.hash("password123")),
+            new UserRecord("STUDENT", 2, "bob", PasswordUtil.hash("password123")),
+            new UserRecord("FACULTY", 1, "drsmith", PasswordUtil.hash("faculty123")),
+            new UserRecord("ASSOCIATION_MEMBER", 1, "ashok", PasswordUtil.hash("member123")));
+        
+        // Replace existing users: write the file, then publish the new users in one swap
+        if (journal == null) {
+            journal = UserJournal.open(Paths.get(JOURNAL_FILE), 0);
+        }
+        writeUsers(initial);
+        journal.truncate();
+        swapIn(initial, -1);
+        loaded = true;
+        for (UserRecord user : initial) {
+            System.out.println("✓ User created: " + user.getUsername() + " (" + user.getType() + ")");
+        }
         
         System.out.println("\n✓ Initial users created successfully");
         System.out.println("⚠️  Default passwords should be changed by users on first login");
@@ -183,104 +492,17 @@ public class AuthManager {
         }
     }
     
-    /**
-     * Simple JSON array parser (lightweight, no external lib needed).
-     */
-    private static List<Map<String, Object>> parseJsonArray(String json) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        json = json.trim();
-        
-        if (!json.startsWith("[") || !json.endsWith("]")) {
-            return result;
-        }
-        
-        int depth = 0;
-        StringBuilder obj = new StringBuilder();
-        
-        for (int i = 1; i < json.length() - 1; i++) {
-            char c = json.charAt(i);
-            if (c == '{') depth++;
-            if (c == '}') depth--;
-            
-            obj.append(c);
-            
-            if (depth == 0 && c == '}') {
-                Map<String, Object> map = parseJsonObject(obj.toString());
-                if (!map.isEmpty()) {
-                    result.add(map);
-                }
-                obj = new StringBuilder();
-            }
-        }
-        
-        return result;
-    }
-    
-    /**
-     * Simple JSON object parser.
-     */
-    private static Map<String, Object> parseJsonObject(String json) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        json = json.trim().replaceAll("[{}]", "").replaceAll(",\\s*$", "");
-        
-        String[] pairs = json.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
-        for (String pair : pairs) {
-            String[] kv = pair.split(":", 2);
-            if (kv.length == 2) {
-                String key = kv[0].trim().replaceAll("\"", "");
-                String value = kv[1].trim().replaceAll("\"", "");
-                
-                try {
-                    if (value.matches("\\d+")) {
-                        result.put(key, Integer.parseInt(value));
-                    } else {
-                        result.put(key, value);
-                    }
-                } catch (NumberFormatException e) {
-                    result.put(key, value);
-                }
-            }
-        }
-        
-        return result;
-    }
-    
-    /**
-     * Converts users to JSON array string.
-     */
-    private static String toJsonArray(List<Map<String, Object>> userList) {
-        StringBuilder sb = new StringBuilder("[\n");
-        
-        for (int i = 0; i < userList.size(); i++) {
-            Map<String, Object> user = userList.get(i);
-            sb.append("  {\n");
-            sb.append("    \"type\": \"").append(user.get("type")).append("\",\n");
-            sb.append("    \"id\": ").append(user.get("id")).append(",\n");
-            sb.append("    \"username\": \"").append(user.get("username")).append("\",\n");
-            sb.append("    \"passwordHash\": \"").append(user.get("passwordHash")).append("\"\n");
-            sb.append("  }");
-            
-            if (i < userList.size() - 1) {
-                sb.append(",");
-            }
-            sb.append("\n");
-        }
-        
-        sb.append("]\n");
-        return sb.toString();
-    }
-    
     /**
      * Returns list of all users (for admin purposes).
      */
-    public static List<Map<String, Object>> getAllUsers() {
-        return new ArrayList<>(users);
+    public static List<UserRecord> getAllUsers() {
+        return users.all();
     }
     
     /**
-     * Checks if users.json exists.
+     * Checks if users.json (or a journal of users not yet written to it) exists.
      */
     public static boolean usersFileExists() {
-        return new File(USERS_FILE).exists();
+        return new File(USERS_FILE).exists() || new File(JOURNAL_FILE).exists();
     }
 }
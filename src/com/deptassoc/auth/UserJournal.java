@@ -0,0 +1,203 @@
+package com.deptassoc.auth;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of the changes made to users since users.json was last written.
+ *
+ * Each change (create, update, disable) is one JSON line holding the whole record after
+ * the change, so replaying a line is an upsert by username and replaying a line twice is
+ * harmless. That lets users.json act as a snapshot: the journal is replayed on top of it
+ * at startup, and once it grows past a threshold AuthManager writes a fresh users.json
+ * and truncates the journal. Creating a user therefore costs one short append instead
+ * of a rewrite of every account.
+ *
+ * Appends are made durable by sync(), which batches fsyncs: while one thread forces the
+ * file, others wait, and the next force covers every line appended in the meantime.
+ * A line torn by a crash is skipped on replay with a warning.
+ *
+ * The process that opens the journal holds an exclusive lock on it until it exits, so a
+ * second process (SetupUtil while the application runs) cannot truncate or append to it
+ * underneath the first; open() fails instead.
+ */
+final class UserJournal {
+
+    static final String CREATE = "create";
+    static final String UPDATE = "update";
+    static final String DISABLE = "disable";
+
+    /**
+     * One replayed line.
+     */
+    static final class Entry {
+        final String op;
+        final UserRecord user;
+
+        Entry(String op, UserRecord user) {
+            this.op = op;
+            this.user = user;
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    // Guarded by this: lines written, lines known to be on disk, and lines in the file
+    private long appended;
+    private long synced;
+    private boolean syncing;
+    private int entries;
+
+    private UserJournal(Path file, FileChannel channel, int entries) {
+        this.file = file;
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens (or creates) a journal for appending and locks it for this process.
+     *
+     * @param entries the number of entries already in the file, as returned by replay
+     * @throws IOException if the file cannot be opened or another process holds the lock
+     */
+    static UserJournal open(Path file, int entries) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException(file.getFileName() + " is locked by another process"
+                    + " (is the application running?)");
+            }
+            // Start a new line after a line torn by a crash, so the next entry stays readable
+            long size = channel.size();
+            if (size > 0 && lastByte(file, size) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            channel.close();
+            if (e instanceof OverlappingFileLockException) {
+                throw new IOException(file.getFileName() + " is already open in this process", e);
+            }
+            throw e;
+        }
+        return new UserJournal(file, channel, entries);
+    }
+
+    private static int lastByte(Path file, long size) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            in.read(last, size - 1);
+            return last.get(0);
+        }
+    }
+
+    /**
+     * Reads every entry of a journal file, in order; a missing file has none.
+     * Lines that cannot be parsed are skipped with a warning.
+     */
+    static List<Entry> replay(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Entry entry = UsersJsonReader.readJournalLine(line);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Skipping damaged line " + number + " of " + file.getFileName()
+                        + ": " + e.getMessage());
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes one entry. It is not guaranteed to be on disk until sync() returns.
+     *
+     * @return the sequence number to pass to sync
+     */
+    synchronized long append(String op, UserRecord user) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(UsersJsonWriter.toJournalLine(op, user).getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        entries++;
+        return ++appended;
+    }
+
+    /**
+     * Blocks until the entry with the given sequence number is on disk.
+     */
+    void sync(long seq) throws IOException {
+        long target;
+        synchronized (this) {
+            while (synced < seq && syncing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for " + file.getFileName());
+                }
+            }
+            if (synced >= seq) {
+                return;
+            }
+            syncing = true;
+            target = appended;
+        }
+
+        boolean done = false;
+        try {
+            channel.force(false);
+            done = true;
+        } finally {
+            synchronized (this) {
+                syncing = false;
+                if (done) {
+                    synced = Math.max(synced, target);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries in the file.
+     */
+    synchronized int size() {
+        return entries;
+    }
+
+    /**
+     * Empties the journal, once its entries are part of users.json.
+     */
+    synchronized void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+        entries = 0;
+        synced = appended;
+    }
+}
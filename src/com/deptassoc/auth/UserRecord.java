@@ -0,0 +1,64 @@
+package com.deptassoc.auth;
+
+import java.util.Objects;
+
+/**
+ * One account from users.json. Immutable, so records can be shared freely
+ * between the login threads and the code that replaces them.
+ */
+public final class UserRecord {
+    private final String type;      // STUDENT, FACULTY, ASSOCIATION_MEMBER, ADMIN
+    private final int id;           // ID of the matching database row
+    private final String username;
+    private final String passwordHash;
+    private final boolean disabled; // Disabled accounts cannot log in
+
+    public UserRecord(String type, int id, String username, String passwordHash) {
+        this(type, id, username, passwordHash, false);
+    }
+
+    public UserRecord(String type, int id, String username, String passwordHash, boolean disabled) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.id = id;
+        this.username = Objects.requireNonNull(username, "username");
+        this.passwordHash = Objects.requireNonNull(passwordHash, "passwordHash");
+        this.disabled = disabled;
+    }
+
+    public String getType() { return type; }
+    public int getId() { return id; }
+    public String getUsername() { return username; }
+    public String getPasswordHash() { return passwordHash; }
+    public boolean isDisabled() { return disabled; }
+
+    /**
+     * Returns a copy with another password hash.
+     */
+    public UserRecord withPasswordHash(String newPasswordHash) {
+        return new UserRecord(type, id, username, newPasswordHash, disabled);
+    }
+
+    /**
+     * Returns a disabled copy.
+     */
+    public UserRecord asDisabled() {
+        return new UserRecord(type, id, username, passwordHash, true);
+    }
+
+    /**
+     * Returns the key of this record in the type+id index.
+     */
+    String typeAndId() {
+        return typeAndId(type, id);
+    }
+
+    static String typeAndId(String type, int id) {
+        return type + ":" + id;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserRecord{type='%s', id=%d, username='%s'%s}",
+            type, id, username, disabled ? ", disabled" : "");
+    }
+}
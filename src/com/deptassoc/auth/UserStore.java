@@ -0,0 +1,133 @@
+package com.deptassoc.auth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of the users from users.json.
+ *
+ * Records are held in two concurrent hash maps, by username and by type+id, so a login
+ * is one O(1) lookup no matter how many accounts exist. Lookups never lock and may run
+ * on any thread (console login, Swing workers, a future server front end); changes are
+ * serialized on the store. Usernames are unique; the first record for a name wins.
+ *
+ * The maps live in a snapshot that a reload replaces as a whole: the new snapshot is
+ * built on the side and published with one volatile write, so a lookup sees either the
+ * old users or the new ones, never a half-loaded mix, and never waits for the reload.
+ * Single additions and updates go into the current snapshot directly.
+ */
+final class UserStore {
+
+    private volatile Snapshot snapshot = new Snapshot();
+    // Bumped by every change, so a reload can tell if it raced with one; guarded by this
+    private long version;
+
+    UserRecord findByUsername(String username) {
+        return username == null ? null : snapshot.byUsername.get(username);
+    }
+
+    UserRecord findByTypeAndId(String type, int id) {
+        return type == null ? null : snapshot.byTypeAndId.get(UserRecord.typeAndId(type, id));
+    }
+
+    int size() {
+        return snapshot.byUsername.size();
+    }
+
+    /**
+     * Returns the change counter, to pass to replaceAll after reading the file.
+     */
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @return false (and nothing changes) if the username is already taken
+     */
+    synchronized boolean add(UserRecord user) {
+        if (!snapshot.add(user)) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    /**
+     * Adds a record, or replaces the one with the same username (keeping its position).
+     */
+    synchronized void put(UserRecord user) {
+        snapshot.put(user);
+        version++;
+    }
+
+    /**
+     * Replaces every record at once, unless the store changed since expectedVersion
+     * (the caller's data may then be older than that change).
+     *
+     * @param users the new records
+     * @param expectedVersion the version() read before the records were loaded, or -1 to always replace
+     * @param duplicates receives the usernames skipped as duplicates
+     * @return true if the records were replaced
+     */
+    boolean replaceAll(Collection<UserRecord> users, long expectedVersion, List<String> duplicates) {
+        // Index outside the lock; only the swap is serialized with other changes
+        Snapshot fresh = new Snapshot();
+        for (UserRecord user : users) {
+            if (!fresh.add(user)) {
+                duplicates.add(user.getUsername());
+            }
+        }
+        synchronized (this) {
+            if (expectedVersion >= 0 && expectedVersion != version) {
+                return false;
+            }
+            snapshot = fresh;
+            version++;
+            return true;
+        }
+    }
+
+    synchronized void clear() {
+        snapshot = new Snapshot();
+        version++;
+    }
+
+    /**
+     * Returns all records in the order they were added.
+     */
+    synchronized List<UserRecord> all() {
+        return new ArrayList<>(snapshot.ordered.values());
+    }
+
+    private static final class Snapshot {
+        final ConcurrentMap<String, UserRecord> byUsername = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, UserRecord> byTypeAndId = new ConcurrentHashMap<>();
+        // File order, for writing users.json back
+        final Map<String, UserRecord> ordered = new LinkedHashMap<>();
+
+        boolean add(UserRecord user) {
+            if (byUsername.putIfAbsent(user.getUsername(), user) != null) {
+                return false;
+            }
+            byTypeAndId.putIfAbsent(user.typeAndId(), user);
+            ordered.put(user.getUsername(), user);
+            return true;
+        }
+
+        void put(UserRecord user) {
+            UserRecord old = byUsername.put(user.getUsername(), user);
+            if (old != null) {
+                byTypeAndId.remove(old.typeAndId(), old);
+            }
+            byTypeAndId.putIfAbsent(user.typeAndId(), user);
+            ordered.put(user.getUsername(), user);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.deptassoc.auth;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches users.json and reloads the users when the file changes, so edits made
+ * outside the application take effect without a restart.
+ *
+ * Runs on one daemon thread. Events are debounced (an editor's save often arrives as
+ * several events) and the reload itself runs on this thread, so logins keep using the
+ * current users until the new ones are swapped in (see UserStore).
+ */
+final class UsersFileWatcher implements Runnable {
+
+    private final Path file;
+    private final WatchService watcher;
+    private final long debounceMillis;
+    private final Runnable reload;
+
+    private UsersFileWatcher(Path file, WatchService watcher, long debounceMillis, Runnable reload) {
+        this.file = file;
+        this.watcher = watcher;
+        this.debounceMillis = debounceMillis;
+        this.reload = reload;
+    }
+
+    /**
+     * Starts watching a file on a daemon thread. The directory is registered before
+     * this returns, so no change made afterwards is missed.
+     *
+     * @param file the file to watch
+     * @param debounceMillis quiet time to wait after the last change before reloading
+     * @param reload reloads the file
+     * @throws IOException if the directory cannot be watched
+     */
+    static void start(Path file, long debounceMillis, Runnable reload) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        try {
+            absolute.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        Thread thread = new Thread(new UsersFileWatcher(absolute, watcher, debounceMillis, reload),
+            "users-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try (WatchService watcher = this.watcher) {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = drain(key);
+                // Keep collecting until the directory has been quiet for the debounce time
+                WatchKey next;
+                while ((next = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if (changed) {
+                    try {
+                        reload.run();
+                    } catch (RuntimeException e) {
+                        System.err.println("Error reloading " + file.getFileName() + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Stopped watching " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consumes a key's events and returns true if one of them concerns the watched file.
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,415 @@
+package com.deptassoc.auth;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads users.json straight into UserRecords in one pass over the characters.
+ *
+ * The input is tokenized as it is read (no substrings per object, no regexes), so the
+ * cost is linear in the file size and the whole file is never held in memory. Strings
+ * support every JSON escape, including \\uXXXX. Keys other than type, id, username,
+ * passwordHash, disabled and (in journal lines) op are skipped whatever their value.
+ * An id may be a number or a string of digits, as older files written by hand
+ * sometimes have it quoted.
+ *
+ * An entry missing a field, or with a field of the wrong type, is skipped with a
+ * warning; anything that is not valid JSON fails the whole read with an IOException
+ * giving the line and column, so a half-written file is never taken for a short one.
+ */
+public final class UsersJsonReader {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+    private int line = 1;
+    private int column;
+    // Reused for every string value
+    private final StringBuilder text = new StringBuilder(64);
+    // The "op" of the last object read; only journal lines have one
+    private String op;
+
+    private UsersJsonReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads a users file (UTF-8).
+     *
+     * @throws IOException if the file cannot be read or is not a valid JSON array
+     */
+    public static List<UserRecord> read(Path file) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads a JSON array of users from a reader, which is not closed.
+     *
+     * @throws IOException if reading fails or the input is not a valid JSON array
+     */
+    public static List<UserRecord> read(Reader in) throws IOException {
+        return new UsersJsonReader(in).readArray();
+    }
+
+    /**
+     * Reads one line of the user journal (see UserJournal).
+     *
+     * @return the entry, or null if the line is valid JSON but not a complete entry
+     * @throws IOException if the line is not a single valid JSON object
+     */
+    static UserJournal.Entry readJournalLine(String journalLine) throws IOException {
+        UsersJsonReader reader = new UsersJsonReader(new StringReader(journalLine));
+        UserRecord user = reader.readUser();
+        int trailing = reader.nextToken();
+        if (trailing != EOF) {
+            throw reader.error("unexpected content after the entry", trailing);
+        }
+        if (user == null || reader.op == null) {
+            return null;
+        }
+        return new UserJournal.Entry(reader.op, user);
+    }
+
+    private List<UserRecord> readArray() throws IOException {
+        List<UserRecord> users = new ArrayList<>();
+        expect('[');
+        if (peekToken() == ']') {
+            next();
+        } else {
+            while (true) {
+                UserRecord user = readUser();
+                if (user != null) {
+                    users.add(user);
+                }
+                int c = nextToken();
+                if (c == ']') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or ']'", c);
+                }
+            }
+        }
+        int trailing = nextToken();
+        if (trailing != EOF) {
+            throw error("unexpected content after the array", trailing);
+        }
+        return users;
+    }
+
+    /**
+     * Reads one object, returning null (with a warning) if it is not a complete user.
+     */
+    private UserRecord readUser() throws IOException {
+        expect('{');
+        String type = null;
+        String username = null;
+        String passwordHash = null;
+        Integer id = null;
+        boolean disabled = false;
+        boolean badField = false;
+        op = null;
+
+        if (peekToken() == '}') {
+            next();
+        } else {
+            while (true) {
+                expect('"');
+                String key = readStringBody();
+                expect(':');
+                switch (key) {
+                    case "type":
+                        type = readStringValue();
+                        badField |= type == null;
+                        break;
+                    case "username":
+                        username = readStringValue();
+                        badField |= username == null;
+                        break;
+                    case "passwordHash":
+                        passwordHash = readStringValue();
+                        badField |= passwordHash == null;
+                        break;
+                    case "id":
+                        id = readIdValue();
+                        badField |= id == null;
+                        break;
+                    case "disabled":
+                        Boolean flag = readBooleanValue();
+                        badField |= flag == null;
+                        disabled = flag != null && flag;
+                        break;
+                    case "op":
+                        op = readStringValue();
+                        badField |= op == null;
+                        break;
+                    default:
+                        skipValue();
+                }
+                int c = nextToken();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}'", c);
+                }
+            }
+        }
+
+        if (badField || type == null || id == null || username == null || passwordHash == null) {
+            System.err.println("Skipping malformed entry in users.json (line " + line + "): " + username);
+            return null;
+        }
+        return new UserRecord(type, id, username, passwordHash, disabled);
+    }
+
+    /**
+     * Reads a value that should be a string, skipping it and returning null if it is not.
+     */
+    private String readStringValue() throws IOException {
+        if (peekToken() != '"') {
+            skipValue();
+            return null;
+        }
+        next();
+        return readStringBody();
+    }
+
+    /**
+     * Reads true or false, skipping any other value and returning null.
+     */
+    private Boolean readBooleanValue() throws IOException {
+        int c = peekToken();
+        if (c == 't') {
+            literal("true");
+            return Boolean.TRUE;
+        }
+        if (c == 'f') {
+            literal("false");
+            return Boolean.FALSE;
+        }
+        skipValue();
+        return null;
+    }
+
+    /**
+     * Reads an integer id given as a number or a string of digits, or returns null.
+     */
+    private Integer readIdValue() throws IOException {
+        int c = peekToken();
+        String digits;
+        if (c == '"') {
+            next();
+            digits = readStringBody();
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            digits = readNumber();
+        } else {
+            skipValue();
+            return null;
+        }
+        try {
+            return Integer.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = peekToken();
+        switch (c) {
+            case '"':
+                next();
+                readStringBody();
+                break;
+            case '{':
+            case '[':
+                skipContainer();
+                break;
+            case 't':
+                literal("true");
+                break;
+            case 'f':
+                literal("false");
+                break;
+            case 'n':
+                literal("null");
+                break;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                } else {
+                    throw error("expected a value", c);
+                }
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int close = next() == '{' ? '}' : ']';
+        if (peekToken() == close) {
+            next();
+            return;
+        }
+        while (true) {
+            if (close == '}') {
+                expect('"');
+                readStringBody();
+                expect(':');
+            }
+            skipValue();
+            int c = nextToken();
+            if (c == close) {
+                return;
+            }
+            if (c != ',') {
+                throw error("expected ',' or '" + (char) close + "'", c);
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of a string after its opening quote, decoding escapes.
+     */
+    private String readStringBody() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == EOF || c < 0x20) {
+                throw error("unterminated string", c);
+            }
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            int e = next();
+            switch (e) {
+                case '"':
+                case '\\':
+                case '/':
+                    text.append((char) e);
+                    break;
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int h = Character.digit(next(), 16);
+                        if (h < 0) {
+                            throw error("bad \\u escape", e);
+                        }
+                        code = code * 16 + h;
+                    }
+                    text.append((char) code);
+                    break;
+                default:
+                    throw error("bad escape", e);
+            }
+        }
+    }
+
+    private String readNumber() throws IOException {
+        StringBuilder number = new StringBuilder(12);
+        int c = peek();
+        while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+            number.append((char) next());
+            c = peek();
+        }
+        return number.toString();
+    }
+
+    private void literal(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            int c = next();
+            if (c != word.charAt(i)) {
+                throw error("expected " + word, c);
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = nextToken();
+        if (c != expected) {
+            throw error("expected '" + expected + "'", c);
+        }
+    }
+
+    /** Skips whitespace and returns the next character without consuming it. */
+    private int peekToken() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            next();
+            c = peek();
+        }
+        return c;
+    }
+
+    /** Skips whitespace and consumes the next character. */
+    private int nextToken() throws IOException {
+        peekToken();
+        return next();
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos];
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        char c = buffer[pos++];
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private IOException error(String message, int found) {
+        String what = found == EOF ? "end of input" : "'" + (char) found + "'";
+        return new IOException("Invalid users.json at line " + line + ", column " + column
+            + ": " + message + ", found " + what);
+    }
+}
@@ -0,0 +1,75 @@
+package com.deptassoc.auth;
+
+import java.util.List;
+
+/**
+ * Writes users in the users.json format that UsersJsonReader reads back:
+ * the pretty-printed array of users.json, or one compact line per journal entry.
+ */
+final class UsersJsonWriter {
+
+    private UsersJsonWriter() {
+    }
+
+    /**
+     * Returns the users as the JSON array stored in users.json.
+     */
+    static String toJsonArray(List<UserRecord> userList) {
+        StringBuilder sb = new StringBuilder("[\n");
+
+        for (int i = 0; i < userList.size(); i++) {
+            UserRecord user = userList.get(i);
+            sb.append("  {\n");
+            sb.append("    \"type\": ").append(quote(user.getType())).append(",\n");
+            sb.append("    \"id\": ").append(user.getId()).append(",\n");
+            sb.append("    \"username\": ").append(quote(user.getUsername())).append(",\n");
+            if (user.isDisabled()) {
+                sb.append("    \"disabled\": true,\n");
+            }
+            sb.append("    \"passwordHash\": ").append(quote(user.getPasswordHash())).append("\n");
+            sb.append("  }");
+
+            if (i < userList.size() - 1) {
+                sb.append(",");
+            }
+            sb.append("\n");
+        }
+
+        sb.append("]\n");
+        return sb.toString();
+    }
+
+    /**
+     * Returns one journal line (with its newline) recording an operation on a user.
+     */
+    static String toJournalLine(String op, UserRecord user) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"op\":").append(quote(op))
+          .append(",\"type\":").append(quote(user.getType()))
+          .append(",\"id\":").append(user.getId())
+          .append(",\"username\":").append(quote(user.getUsername()))
+          .append(",\"passwordHash\":").append(quote(user.getPasswordHash()));
+        if (user.isDisabled()) {
+            sb.append(",\"disabled\":true");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    /**
+     * Returns a JSON string literal, escaping what UsersJsonReader decodes.
+     */
+    static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -5,7 +5,10 @@ import com.deptassoc.db.SQLConstants;
 import com.deptassoc.model.Activity;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Activity entity.
@@ -13,10 +16,17 @@ import java.util.List;
  */
 public class ActivityDao {
     
+    // Read-through cache shared by every instance; the writes below invalidate it
+    static final EntityCache<Activity> CACHE = new EntityCache<>("Activity", Activity::getActivityId, ActivityDao::copy);
+    
     /**
      * Retrieves all activities.
      */
     public List<Activity> findAll() throws SQLException {
+        return CACHE.getAll(this::loadAll);
+    }
+    
+    private List<Activity> loadAll() throws SQLException {
         List<Activity> activities = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
              Statement stmt = conn.createStatement();
@@ -28,10 +38,30 @@ public class ActivityDao {
         return activities;
     }
     
+    /**
+     * Streams all activities without loading them into memory.
+     * The stream holds a database connection until closed; use try-with-resources.
+     */
+    public Stream<Activity> streamAll() throws SQLException {
+        return StreamingQuery.stream(SQLConstants.FIND_ALL_ACTIVITIES, this::mapRowToActivity);
+    }
+    
+    /**
+     * Returns the next page of activities in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<Activity> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ACTIVITIES_PAGE, afterId, limit, this::mapRowToActivity);
+    }
+    
     /**
      * Finds an activity by ID.
      */
     public Activity findById(int id) throws SQLException {
+        return CACHE.get(id, () -> loadById(id));
+    }
+    
+    private Activity loadById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ACTIVITY_BY_ID)) {
             stmt.setInt(1, id);
@@ -44,6 +74,20 @@ public class ActivityDao {
         return null;
     }
     
+    /**
+     * Finds many activities at once, using one connection and chunked IN-lists.
+     *
+     * @param ids the IDs to look up
+     * @return Activities keyed by ID; IDs with no row are absent
+     */
+    public Map<Integer, Activity> findByIds(Collection<Integer> ids) throws SQLException {
+        return CACHE.getAll(ids, this::loadByIds);
+    }
+    
+    private Map<Integer, Activity> loadByIds(Collection<Integer> ids) throws SQLException {
+        return InListQuery.findByIds(SQLConstants.FIND_ACTIVITIES_BY_IDS, "activity_id", ids, this::mapRowToActivity);
+    }
+    
     /**
      * Finds all activities for a specific event.
      */
@@ -62,19 +106,33 @@ public class ActivityDao {
     }
     
     /**
-     * Inserts a new activity.
+     * Inserts a new activity and sets the ID the database generated on it.
+     *
+     * @return the same activity, now carrying its ID
      */
-    public void insert(Activity activity) throws SQLException {
+    public Activity insert(Activity activity) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY)) {
-            stmt.setInt(1, activity.getEventId());
-            stmt.setString(2, activity.getActivityName());
-            stmt.setString(3, activity.getDescription());
-            stmt.setTime(4, activity.getStartTime());
-            stmt.setTime(5, activity.getEndTime());
-            stmt.setInt(6, activity.getParticipantCount());
-            stmt.executeUpdate();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, activity);
+            activity.setActivityId(GeneratedKeys.executeInsert(stmt));
+            CACHE.invalidateList();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
+        }
+        return activity;
+    }
+    
+    /**
+     * Inserts many activities in one transaction and sets the generated ID on each.
+     *
+     * @return the generated IDs, in list order
+     */
+    public int[] insertAll(List<Activity> activities) throws SQLException {
+        int[] ids = GeneratedKeys.insertAll(SQLConstants.INSERT_ACTIVITY, activities, this::bindInsert,
+            CACHE::invalidateList, ChangeVersions.ACTIVITY);
+        for (int i = 0; i < ids.length; i++) {
+            activities.get(i).setActivityId(ids[i]);
         }
+        return ids;
     }
     
     /**
@@ -89,8 +147,11 @@ public class ActivityDao {
             stmt.setTime(4, activity.getStartTime());
             stmt.setTime(5, activity.getEndTime());
             stmt.setInt(6, activity.getParticipantCount());
-            stmt.setInt(7, activity.getActivityId());
+            setMaxParticipants(stmt, 7, activity.getMaxParticipants());
+            stmt.setInt(8, activity.getActivityId());
             stmt.executeUpdate();
+            CACHE.invalidate(activity.getActivityId());
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
         }
     }
     
@@ -102,14 +163,48 @@ public class ActivityDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ACTIVITY)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            CACHE.invalidate(id);
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
         }
     }
     
+    /**
+     * Adjusts the cached participant_count of an activity after a committed registration
+     * change, keeping the cached activity list instead of reloading the whole table.
+     * Clamped at 0 like the GREATEST(participant_count + ?, 0) update it mirrors.
+     */
+    static void adjustCachedParticipantCount(int activityId, int delta) {
+        CACHE.patch(activityId, a -> a.setParticipantCount(Math.max(0, a.getParticipantCount() + delta)));
+    }
+
+    /**
+     * Copies a cached activity so callers can change it freely.
+     */
+    private static Activity copy(Activity a) {
+        Activity copy = new Activity(a.getActivityId(), a.getEventId(), a.getActivityName(), a.getDescription(),
+            a.getStartTime(), a.getEndTime(), a.getParticipantCount());
+        copy.setMaxParticipants(a.getMaxParticipants());
+        return copy;
+    }
+    
+    /**
+     * Binds an activity to the parameters of INSERT_ACTIVITY.
+     */
+    private void bindInsert(PreparedStatement stmt, Activity activity) throws SQLException {
+        stmt.setInt(1, activity.getEventId());
+        stmt.setString(2, activity.getActivityName());
+        stmt.setString(3, activity.getDescription());
+        stmt.setTime(4, activity.getStartTime());
+        stmt.setTime(5, activity.getEndTime());
+        stmt.setInt(6, activity.getParticipantCount());
+        setMaxParticipants(stmt, 7, activity.getMaxParticipants());
+    }
+    
     /**
      * Maps a ResultSet row to an Activity object.
      */
     private Activity mapRowToActivity(ResultSet rs) throws SQLException {
-        return new Activity(
+        Activity activity = new Activity(
             rs.getInt("activity_id"),
             rs.getInt("event_id"),
             rs.getString("activity_name"),
@@ -118,5 +213,19 @@ public class ActivityDao {
             rs.getTime("end_time"),
             rs.getInt("participant_count")
         );
+        int max = rs.getInt("max_participants");
+        activity.setMaxParticipants(rs.wasNull() ? null : max);
+        return activity;
+    }
+    
+    /**
+     * Binds max_participants, writing NULL for unlimited.
+     */
+    private void setMaxParticipants(PreparedStatement stmt, int index, Integer max) throws SQLException {
+        if (max == null) {
+            stmt.setNull(index, Types.INTEGER);
+        } else {
+            stmt.setInt(index, max);
+        }
     }
 }
@@ -2,10 +2,12 @@ package com.deptassoc.dao;
 
 import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.db.SQLConstants;
+import com.deptassoc.dto.StudentDTO;
 import com.deptassoc.model.ActivityParticipant;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for ActivityParticipant entity.
@@ -24,6 +26,22 @@ public class ActivityParticipantDao {
         return participants;
     }
     
+    /**
+     * Streams all participants without loading them into memory.
+     * The stream holds a database connection until closed; use try-with-resources.
+     */
+    public Stream<ActivityParticipant> streamAll() throws SQLException {
+        return StreamingQuery.stream(SQLConstants.FIND_ALL_ACTIVITY_PARTICIPANTS, this::mapRowToParticipant);
+    }
+    
+    /**
+     * Returns the next page of participants in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<ActivityParticipant> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ACTIVITY_PARTICIPANTS_PAGE, afterId, limit, this::mapRowToParticipant);
+    }
+    
     public ActivityParticipant findById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ACTIVITY_PARTICIPANT_BY_ID)) {
@@ -54,14 +72,48 @@ public class ActivityParticipantDao {
         return participants;
     }
     
-    public void insert(ActivityParticipant participant) throws SQLException {
+    /**
+     * Finds all participants in an activity with their student details,
+     * joined in a single query (for reports).
+     */
+    public List<StudentDTO> findParticipantReportByActivity(int activityId) throws SQLException {
+        List<StudentDTO> students = new ArrayList<>();
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_PARTICIPANT_REPORT_BY_ACTIVITY)) {
+            stmt.setInt(1, activityId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    StudentDTO dto = new StudentDTO(
+                        rs.getInt("student_id"),
+                        rs.getString("s_name"),
+                        rs.getString("s_email"),
+                        rs.getString("phone")
+                    );
+                    dto.setRegisteredOn(rs.getTimestamp("registered_on"));
+                    students.add(dto);
+                }
+            }
+        }
+        return students;
+    }
+    
+    /**
+     * Inserts a participant registration and sets the ID the database generated on it.
+     *
+     * @return the same participant, now carrying its ID
+     */
+    public ActivityParticipant insert(ActivityParticipant participant) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY_PARTICIPANT)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY_PARTICIPANT, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, participant.getActivityId());
             stmt.setInt(2, participant.getStudentId());
             stmt.setTimestamp(3, participant.getRegisteredOn());
-            stmt.executeUpdate();
+            participant.setParticipantId(GeneratedKeys.executeInsert(stmt));
+            RegistrationIndex.add(participant.getStudentId(), participant.getActivityId());
+            ParticipationGraph.add(participant.getStudentId(), participant.getActivityId());
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_PARTICIPANTS);
         }
+        return participant;
     }
     
     public void update(ActivityParticipant participant) throws SQLException {
@@ -72,6 +124,9 @@ public class ActivityParticipantDao {
             stmt.setTimestamp(3, participant.getRegisteredOn());
             stmt.setInt(4, participant.getParticipantId());
             stmt.executeUpdate();
+            RegistrationIndex.clear();
+            ParticipationGraph.clear();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_PARTICIPANTS);
         }
     }
     
@@ -80,6 +135,9 @@ public class ActivityParticipantDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ACTIVITY_PARTICIPANT)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            RegistrationIndex.clear();
+            ParticipationGraph.clear();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_PARTICIPANTS);
         }
     }
     
@@ -2,6 +2,7 @@ package com.deptassoc.dao;
 
 import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.db.SQLConstants;
+import com.deptassoc.dto.WinnerDTO;
 import com.deptassoc.model.ActivityWinner;
 import java.sql.*;
 import java.util.ArrayList;
@@ -24,6 +25,14 @@ public class ActivityWinnerDao {
         return winners;
     }
     
+    /**
+     * Returns the next page of winners in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<ActivityWinner> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ACTIVITY_WINNERS_PAGE, afterId, limit, this::mapRowToWinner);
+    }
+    
     public ActivityWinner findById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ACTIVITY_WINNER_BY_ID)) {
@@ -54,14 +63,44 @@ public class ActivityWinnerDao {
         return winners;
     }
     
-    public void insert(ActivityWinner winner) throws SQLException {
+    /**
+     * Finds all winners of an activity with student names, ordered by position,
+     * joined in a single query (for reports).
+     */
+    public List<WinnerDTO> findWinnerReportByActivity(int activityId) throws SQLException {
+        List<WinnerDTO> winners = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY_WINNER)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_WINNER_REPORT_BY_ACTIVITY)) {
+            stmt.setInt(1, activityId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    winners.add(new WinnerDTO(
+                        rs.getInt("winner_id"),
+                        rs.getInt("student_id"),
+                        rs.getString("s_name"),
+                        rs.getInt("position")
+                    ));
+                }
+            }
+        }
+        return winners;
+    }
+    
+    /**
+     * Inserts a winner and sets the ID the database generated on it.
+     *
+     * @return the same winner, now carrying its ID
+     */
+    public ActivityWinner insert(ActivityWinner winner) throws SQLException {
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ACTIVITY_WINNER, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, winner.getActivityId());
             stmt.setInt(2, winner.getStudentId());
             stmt.setInt(3, winner.getPosition());
-            stmt.executeUpdate();
+            winner.setWinnerId(GeneratedKeys.executeInsert(stmt));
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_WINNERS);
         }
+        return winner;
     }
     
     public void update(ActivityWinner winner) throws SQLException {
@@ -72,6 +111,7 @@ public class ActivityWinnerDao {
             stmt.setInt(3, winner.getPosition());
             stmt.setInt(4, winner.getWinnerId());
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_WINNERS);
         }
     }
     
@@ -80,6 +120,7 @@ public class ActivityWinnerDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ACTIVITY_WINNER)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY_WINNERS);
         }
     }
     
@@ -5,7 +5,9 @@ import com.deptassoc.db.SQLConstants;
 import com.deptassoc.model.Association;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Association entity.
@@ -13,10 +15,17 @@ import java.util.List;
  */
 public class AssociationDao {
     
+    // Read-through cache shared by every instance; the writes below invalidate it
+    private static final EntityCache<Association> CACHE = new EntityCache<>("Association", Association::getAssocId, AssociationDao::copy);
+    
     /**
      * Retrieves all associations.
      */
     public List<Association> findAll() throws SQLException {
+        return CACHE.getAll(this::loadAll);
+    }
+    
+    private List<Association> loadAll() throws SQLException {
         List<Association> associations = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
              Statement stmt = conn.createStatement();
@@ -28,10 +37,22 @@ public class AssociationDao {
         return associations;
     }
     
+    /**
+     * Returns the next page of associations in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<Association> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ASSOCIATIONS_PAGE, afterId, limit, this::mapRowToAssociation);
+    }
+    
     /**
      * Finds an association by ID.
      */
     public Association findById(int id) throws SQLException {
+        return CACHE.get(id, () -> loadById(id));
+    }
+    
+    private Association loadById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ASSOCIATION_BY_ID)) {
             stmt.setInt(1, id);
@@ -45,17 +66,36 @@ public class AssociationDao {
     }
     
     /**
-     * Inserts a new association.
+     * Finds many associations at once, using one connection and chunked IN-lists.
+     *
+     * @param ids the IDs to look up
+     * @return Associations keyed by ID; IDs with no row are absent
+     */
+    public Map<Integer, Association> findByIds(Collection<Integer> ids) throws SQLException {
+        return CACHE.getAll(ids, this::loadByIds);
+    }
+    
+    private Map<Integer, Association> loadByIds(Collection<Integer> ids) throws SQLException {
+        return InListQuery.findByIds(SQLConstants.FIND_ASSOCIATIONS_BY_IDS, "assoc_id", ids, this::mapRowToAssociation);
+    }
+    
+    /**
+     * Inserts a new association and sets the ID the database generated on it.
+     *
+     * @return the same association, now carrying its ID
      */
-    public void insert(Association association) throws SQLException {
+    public Association insert(Association association) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, association.getAssocName());
             stmt.setInt(2, association.getEstablishmentYear());
             stmt.setInt(3, association.getDepartmentId());
             stmt.setString(4, association.getDescription());
-            stmt.executeUpdate();
+            association.setAssocId(GeneratedKeys.executeInsert(stmt));
+            CACHE.invalidateList();
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION);
         }
+        return association;
     }
     
     /**
@@ -70,6 +110,8 @@ public class AssociationDao {
             stmt.setString(4, association.getDescription());
             stmt.setInt(5, association.getAssocId());
             stmt.executeUpdate();
+            CACHE.invalidate(association.getAssocId());
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION);
         }
     }
     
@@ -81,9 +123,19 @@ public class AssociationDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ASSOCIATION)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            CACHE.invalidate(id);
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION);
         }
     }
     
+    /**
+     * Copies a cached association so callers can change it freely.
+     */
+    private static Association copy(Association a) {
+        return new Association(a.getAssocId(), a.getAssocName(), a.getEstablishmentYear(),
+            a.getDepartmentId(), a.getDescription());
+    }
+    
     /**
      * Maps a ResultSet row to an Association object.
      */
@@ -24,6 +24,14 @@ public class AssociationFacultyAdviserDao {
         return advisers;
     }
     
+    /**
+     * Returns the next page of advisers in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<AssociationFacultyAdviser> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ASSOCIATION_FACULTY_ADVISERS_PAGE, afterId, limit, this::mapRowToAdviser);
+    }
+    
     public AssociationFacultyAdviser findById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ASSOCIATION_FACULTY_ADVISER_BY_ID)) {
@@ -54,14 +62,21 @@ public class AssociationFacultyAdviserDao {
         return advisers;
     }
     
-    public void insert(AssociationFacultyAdviser adviser) throws SQLException {
+    /**
+     * Inserts a faculty adviser and sets the ID the database generated on it.
+     *
+     * @return the same adviser, now carrying its ID
+     */
+    public AssociationFacultyAdviser insert(AssociationFacultyAdviser adviser) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION_FACULTY_ADVISER)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION_FACULTY_ADVISER, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, adviser.getAssocId());
             stmt.setInt(2, adviser.getFacultyId());
             stmt.setString(3, adviser.getRole());
-            stmt.executeUpdate();
+            adviser.setAdviserId(GeneratedKeys.executeInsert(stmt));
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_FACULTY_ADVISERS);
         }
+        return adviser;
     }
     
     public void update(AssociationFacultyAdviser adviser) throws SQLException {
@@ -72,6 +87,7 @@ public class AssociationFacultyAdviserDao {
             stmt.setString(3, adviser.getRole());
             stmt.setInt(4, adviser.getAdviserId());
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_FACULTY_ADVISERS);
         }
     }
     
@@ -80,6 +96,7 @@ public class AssociationFacultyAdviserDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ASSOCIATION_FACULTY_ADVISER)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_FACULTY_ADVISERS);
         }
     }
     
@@ -3,6 +3,7 @@ package com.deptassoc.dao;
 import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.db.SQLConstants;
 import com.deptassoc.dto.ActivityDTO;
+import com.deptassoc.dto.MemberDTO;
 import com.deptassoc.model.AssociationMember;
 import com.deptassoc.model.Event;
 
@@ -29,6 +30,14 @@ public class AssociationMemberDao {
         return members;
     }
     
+    /**
+     * Returns the next page of members in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<AssociationMember> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_ASSOCIATION_MEMBERS_PAGE, afterId, limit, this::mapRowToAssociationMember);
+    }
+    
     public AssociationMember findById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_ASSOCIATION_MEMBER_BY_ID)) {
@@ -59,15 +68,46 @@ public class AssociationMemberDao {
         return members;
     }
     
-    public void insert(AssociationMember member) throws SQLException {
+    /**
+     * Finds all members of an association with student names,
+     * joined in a single query (for reports).
+     */
+    public List<MemberDTO> findMemberReportByAssociation(int assocId) throws SQLException {
+        List<MemberDTO> members = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION_MEMBER)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_MEMBER_REPORT_BY_ASSOCIATION)) {
+            stmt.setInt(1, assocId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    members.add(new MemberDTO(
+                        rs.getInt("member_id"),
+                        rs.getInt("student_id"),
+                        rs.getString("s_name"),
+                        rs.getString("role"),
+                        rs.getDate("joined_date")
+                    ));
+                }
+            }
+        }
+        return members;
+    }
+    
+    /**
+     * Inserts an association member and sets the ID the database generated on it.
+     *
+     * @return the same member, now carrying its ID
+     */
+    public AssociationMember insert(AssociationMember member) throws SQLException {
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_ASSOCIATION_MEMBER, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, member.getAssocId());
             stmt.setInt(2, member.getStudentId());
             stmt.setString(3, member.getRole());
             stmt.setDate(4, member.getJoinedDate());
-            stmt.executeUpdate();
+            member.setMemberId(GeneratedKeys.executeInsert(stmt));
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_MEMBERS);
         }
+        return member;
     }
     
     public void update(AssociationMember member) throws SQLException {
@@ -79,6 +119,7 @@ public class AssociationMemberDao {
             stmt.setDate(4, member.getJoinedDate());
             stmt.setInt(5, member.getMemberId());
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_MEMBERS);
         }
     }
     
@@ -87,6 +128,7 @@ public class AssociationMemberDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_ASSOCIATION_MEMBER)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.ASSOCIATION_MEMBERS);
         }
     }
     
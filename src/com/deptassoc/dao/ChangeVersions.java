@@ -0,0 +1,140 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+import com.deptassoc.db.SQLConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-table change counters kept in the table_versions table (schema-change-versions.sql).
+ * The DAOs bump a table's version after each committed write to it (the registration
+ * paths inside the write's own transaction), so a reader can tell whether anything
+ * changed with one small query instead of reloading the data.
+ *
+ * Counting is best effort: a failed bump is logged and never fails the write it follows.
+ * If table_versions does not exist, bumping is switched off after the first attempt.
+ */
+public final class ChangeVersions {
+
+    public static final String ASSOCIATION = "association";
+    public static final String FACULTY = "faculty";
+    public static final String STUDENT = "student";
+    public static final String EVENT = "event";
+    public static final String ACTIVITY = "activity";
+    public static final String ASSOCIATION_MEMBERS = "association_members";
+    public static final String ASSOCIATION_FACULTY_ADVISERS = "association_faculty_advisers";
+    public static final String ACTIVITY_PARTICIPANTS = "activity_participants";
+    public static final String ACTIVITY_WINNERS = "activity_winners";
+
+    private static final String NO_SUCH_TABLE = "42S02";
+    // SQLSTATE class 40: the server rolled the transaction back (e.g. deadlock)
+    private static final String TRANSACTION_ROLLBACK = "40";
+
+    private static volatile boolean enabled = true;
+
+    private ChangeVersions() {
+    }
+
+    /**
+     * Reads the current version of every table.
+     *
+     * @return version by table name
+     * @throws SQLException if database error occurs (including a missing table_versions table)
+     */
+    public static Map<String, Long> snapshot() throws SQLException {
+        Map<String, Long> versions = new HashMap<>();
+        try (Connection conn = DBConnectionManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQLConstants.FIND_TABLE_VERSIONS)) {
+            while (rs.next()) {
+                versions.put(rs.getString("table_name"), rs.getLong("version"));
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Bumps the versions of tables just written through a connection.
+     * Call it after the write is committed: in auto-commit mode right after the
+     * statement, otherwise after conn.commit(). In manual-commit mode the bump is
+     * committed on its own, so it never holds the version row lock for long.
+     *
+     * @param conn the connection that made the write
+     * @param tables the tables that changed
+     */
+    static void bump(Connection conn, String... tables) {
+        if (!enabled || tables.length == 0) {
+            return;
+        }
+        boolean autoCommit = true;
+        try {
+            autoCommit = conn.getAutoCommit();
+            update(conn, tables);
+            if (!autoCommit) {
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            if (!autoCommit) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    rollbackEx.printStackTrace();
+                }
+            }
+            failed(e);
+        }
+    }
+
+    /**
+     * Bumps the versions of tables as part of the caller's open transaction, so the
+     * bump commits (and is flushed) together with the write instead of in a commit of
+     * its own. Make it the last statement before conn.commit(): the version rows stay
+     * locked until then, and every writer locks them in the same order.
+     *
+     * A failed bump is logged and the transaction carries on, unless the failure rolled
+     * the whole transaction back (deadlock), which is rethrown so the caller does not
+     * commit and report a write that is gone.
+     *
+     * @param conn the connection in manual-commit mode that made the write
+     * @param tables the tables that changed
+     * @throws SQLException if the transaction was rolled back
+     */
+    static void bumpInTransaction(Connection conn, String... tables) throws SQLException {
+        if (!enabled || tables.length == 0) {
+            return;
+        }
+        try {
+            update(conn, tables);
+        } catch (SQLException e) {
+            if (e.getSQLState() != null && e.getSQLState().startsWith(TRANSACTION_ROLLBACK)) {
+                throw e;
+            }
+            failed(e);
+        }
+    }
+
+    private static void update(Connection conn, String... tables) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                SQLConstants.BUMP_TABLE_VERSIONS + InListQuery.placeholders(tables.length))) {
+            for (int i = 0; i < tables.length; i++) {
+                stmt.setString(i + 1, tables[i]);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void failed(SQLException e) {
+        if (NO_SUCH_TABLE.equals(e.getSQLState())) {
+            enabled = false;
+            System.err.println("Change versions disabled; run schema-change-versions.sql to enable auto refresh");
+        } else {
+            System.err.println("Could not bump change versions: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+import com.deptassoc.db.DbMetrics;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache for the rows of one rarely changing table, keyed by primary key.
+ * Holds at most db.cache.maxEntries rows (least recently used are evicted first) plus
+ * the result of findAll, each for db.cache.ttlSeconds. A ttl of 0 turns caching off.
+ *
+ * The owning DAO invalidates an id after writing it, and the whole findAll result
+ * after any write, except writes whose effect is known exactly (a participant_count
+ * change), which patch the cached row and its copy in the findAll result in place.
+ * A load that overlaps an invalidation is returned but not stored, so a slow read can
+ * never put a row back that a write has just replaced. A load that overlaps a patch is
+ * still stored: the patch is recorded and applied to the loaded rows first.
+ * Callers get copies, so changing a returned object never changes the cache.
+ *
+ * Hits, misses and evictions are published as com.deptassoc:type=EntityCache,name=&lt;name&gt;.
+ */
+final class EntityCache<T> implements EntityCacheMXBean {
+
+    /**
+     * Reads from the database on a cache miss.
+     */
+    interface Loader<R> {
+        R load() throws SQLException;
+    }
+
+    /**
+     * Reads the rows for the ids that missed.
+     */
+    interface BulkLoader<T> {
+        Map<Integer, T> load(Collection<Integer> ids) throws SQLException;
+    }
+
+    private final String name;
+    private final UnaryOperator<T> copier;
+    private final ToIntFunction<T> idFunction;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<Integer, Entry<T>> entries;
+    private Entry<List<T>> all;
+    private long generation;
+    // Loads in flight, each collecting the patches made while it runs
+    private final List<Load<T>> loads = new ArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param name the entity name used in metrics
+     * @param idFunction reads the primary key of an entity
+     * @param copier makes an independent copy of an entity
+     */
+    EntityCache(String name, ToIntFunction<T> idFunction, UnaryOperator<T> copier) {
+        this.name = name;
+        this.idFunction = idFunction;
+        this.copier = copier;
+        this.maxSize = Math.max(1, Integer.parseInt(DBConnectionManager.getProperty("db.cache.maxEntries", "1000")));
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(
+            Long.parseLong(DBConnectionManager.getProperty("db.cache.ttlSeconds", "60")));
+        this.entries = new LinkedHashMap<Integer, Entry<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        DbMetrics.register(this, "type=EntityCache,name=" + name);
+    }
+
+    /**
+     * Returns the entity with an id, loading it on a miss. Missing rows are not cached.
+     */
+    T get(int id, Loader<T> loader) throws SQLException {
+        long start;
+        Load<T> load;
+        synchronized (this) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null && !entry.isExpired()) {
+                hits.increment();
+                return copier.apply(entry.value);
+            }
+            misses.increment();
+            start = generation;
+            load = begin();
+        }
+        T loaded = load(load, loader);
+        synchronized (this) {
+            loads.remove(load);
+            if (loaded != null) {
+                load.applyTo(loaded, idFunction);
+                if (generation == start && ttlNanos > 0) {
+                    entries.put(id, new Entry<>(copier.apply(loaded), ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the entities for some ids, loading only the ids that missed.
+     */
+    Map<Integer, T> getAll(Collection<Integer> ids, BulkLoader<T> loader) throws SQLException {
+        Map<Integer, T> result = new HashMap<>(Math.max(16, ids.size() * 4 / 3 + 1));
+        List<Integer> missing = new ArrayList<>();
+        long start;
+        Load<T> load;
+        synchronized (this) {
+            for (Integer id : ids) {
+                if (id == null || result.containsKey(id)) {
+                    continue;
+                }
+                Entry<T> entry = entries.get(id);
+                if (entry != null && !entry.isExpired()) {
+                    hits.increment();
+                    result.put(id, copier.apply(entry.value));
+                } else {
+                    misses.increment();
+                    missing.add(id);
+                }
+            }
+            if (missing.isEmpty()) {
+                return result;
+            }
+            start = generation;
+            load = begin();
+        }
+        Map<Integer, T> loaded = load(load, () -> loader.load(missing));
+        synchronized (this) {
+            loads.remove(load);
+            for (T item : loaded.values()) {
+                load.applyTo(item, idFunction);
+            }
+            if (generation == start && ttlNanos > 0) {
+                for (Map.Entry<Integer, T> row : loaded.entrySet()) {
+                    entries.put(row.getKey(), new Entry<>(copier.apply(row.getValue()), ttlNanos));
+                }
+            }
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Returns every row of the table, loading them on a miss.
+     * A load also refreshes the per-id entries it can hold.
+     */
+    List<T> getAll(Loader<List<T>> loader) throws SQLException {
+        long start;
+        Load<T> load;
+        synchronized (this) {
+            if (all != null && !all.isExpired()) {
+                hits.increment();
+                return copyAll(all.value);
+            }
+            misses.increment();
+            start = generation;
+            load = begin();
+        }
+        List<T> loaded = load(load, loader);
+        synchronized (this) {
+            loads.remove(load);
+            for (T item : loaded) {
+                load.applyTo(item, idFunction);
+            }
+            if (generation == start && ttlNanos > 0) {
+                List<T> cached = copyAll(loaded);
+                all = new Entry<>(cached, ttlNanos);
+                int from = Math.max(0, cached.size() - maxSize);
+                for (T item : cached.subList(from, cached.size())) {
+                    entries.put(idFunction.applyAsInt(item), new Entry<>(item, ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops one entity and the findAll result, after a write to that row.
+     */
+    synchronized void invalidate(int id) {
+        generation++;
+        invalidations.increment();
+        entries.remove(id);
+        all = null;
+    }
+
+    /**
+     * Applies a known change to one cached entity in place, after a write whose effect
+     * on the row is exact (e.g. a participant_count delta). Unlike invalidate, the
+     * findAll result is kept, with its element for the id changed the same way.
+     * Loads in flight are kept too; each applies the change to its row before storing it.
+     * A delta is counted twice only by a load whose read starts in the instant between
+     * the write's commit and this call; such a row is off until its ttl runs out.
+     */
+    synchronized void patch(int id, Consumer<T> change) {
+        for (Load<T> load : loads) {
+            load.record(id, change);
+        }
+        Entry<T> entry = entries.get(id);
+        T patched = null;
+        if (entry != null) {
+            change.accept(entry.value);
+            patched = entry.value;
+        }
+        if (all != null) {
+            for (T item : all.value) {
+                if (idFunction.applyAsInt(item) == id) {
+                    // The findAll load shares its objects with the per-id entries
+                    if (item != patched) {
+                        change.accept(item);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the findAll result only, after an insert (which adds a row but changes none).
+     */
+    synchronized void invalidateList() {
+        generation++;
+        invalidations.increment();
+        all = null;
+    }
+
+    /**
+     * Drops everything, after a write whose rows are not known individually.
+     */
+    @Override
+    public synchronized void clear() {
+        generation++;
+        invalidations.increment();
+        entries.clear();
+        all = null;
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public synchronized int getSize() { return entries.size(); }
+
+    @Override
+    public int getMaxSize() { return maxSize; }
+
+    @Override
+    public long getTtlSeconds() { return TimeUnit.NANOSECONDS.toSeconds(ttlNanos); }
+
+    @Override
+    public long getHits() { return hits.sum(); }
+
+    @Override
+    public long getMisses() { return misses.sum(); }
+
+    @Override
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public long getEvictions() { return evictions.sum(); }
+
+    @Override
+    public long getInvalidations() { return invalidations.sum(); }
+
+    /**
+     * Starts collecting patches for a load; called under the cache lock.
+     */
+    private Load<T> begin() {
+        Load<T> load = new Load<>();
+        loads.add(load);
+        return load;
+    }
+
+    /**
+     * Runs a loader, forgetting its load if it fails. On success the caller removes the
+     * load under the same lock it applies the patches with, so none can slip in between.
+     */
+    private <R> R load(Load<T> load, Loader<R> loader) throws SQLException {
+        try {
+            return loader.load();
+        } catch (SQLException | RuntimeException | Error e) {
+            synchronized (this) {
+                loads.remove(load);
+            }
+            throw e;
+        }
+    }
+
+    private List<T> copyAll(List<T> items) {
+        List<T> copies = new ArrayList<>(items.size());
+        for (T item : items) {
+            copies.add(copier.apply(item));
+        }
+        return copies;
+    }
+
+    /**
+     * The patches made while one load was reading, in order.
+     */
+    private static final class Load<T> {
+        private final List<Integer> ids = new ArrayList<>(0);
+        private final List<Consumer<T>> changes = new ArrayList<>(0);
+
+        void record(int id, Consumer<T> change) {
+            ids.add(id);
+            changes.add(change);
+        }
+
+        void applyTo(T item, ToIntFunction<T> idFunction) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            int id = idFunction.applyAsInt(item);
+            for (int i = 0; i < ids.size(); i++) {
+                if (ids.get(i) == id) {
+                    changes.get(i).accept(item);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long ttlNanos) {
+            this.value = value;
+            this.expiresAt = System.nanoTime() + ttlNanos;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.deptassoc.dao;
+
+/**
+ * JMX view of one DAO read-through cache.
+ */
+public interface EntityCacheMXBean {
+    String getName();
+    int getSize();
+    int getMaxSize();
+    long getTtlSeconds();
+    long getHits();
+    long getMisses();
+    double getHitRatio();
+    long getEvictions();
+    long getInvalidations();
+    void clear();
+}
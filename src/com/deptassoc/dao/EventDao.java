@@ -5,14 +5,24 @@ import com.deptassoc.db.SQLConstants;
 import com.deptassoc.model.Event;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Event entity.
  */
 public class EventDao {
     
+    // Read-through cache shared by every instance; the writes below invalidate it
+    private static final EntityCache<Event> CACHE = new EntityCache<>("Event", Event::getEventId, EventDao::copy);
+    
     public List<Event> findAll() throws SQLException {
+        return CACHE.getAll(this::loadAll);
+    }
+    
+    private List<Event> loadAll() throws SQLException {
         List<Event> events = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
              Statement stmt = conn.createStatement();
@@ -24,7 +34,27 @@ public class EventDao {
         return events;
     }
     
+    /**
+     * Streams all events without loading them into memory.
+     * The stream holds a database connection until closed; use try-with-resources.
+     */
+    public Stream<Event> streamAll() throws SQLException {
+        return StreamingQuery.stream(SQLConstants.FIND_ALL_EVENTS, this::mapRowToEvent);
+    }
+    
+    /**
+     * Returns the next page of events in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<Event> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_EVENTS_PAGE, afterId, limit, this::mapRowToEvent);
+    }
+    
     public Event findById(int id) throws SQLException {
+        return CACHE.get(id, () -> loadById(id));
+    }
+    
+    private Event loadById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_EVENT_BY_ID)) {
             stmt.setInt(1, id);
@@ -37,6 +67,20 @@ public class EventDao {
         return null;
     }
     
+    /**
+     * Finds many events at once, using one connection and chunked IN-lists.
+     *
+     * @param ids the IDs to look up
+     * @return Events keyed by ID; IDs with no row are absent
+     */
+    public Map<Integer, Event> findByIds(Collection<Integer> ids) throws SQLException {
+        return CACHE.getAll(ids, this::loadByIds);
+    }
+    
+    private Map<Integer, Event> loadByIds(Collection<Integer> ids) throws SQLException {
+        return InListQuery.findByIds(SQLConstants.FIND_EVENTS_BY_IDS, "event_id", ids, this::mapRowToEvent);
+    }
+    
     /**
      * Finds all events for a specific association.
      */
@@ -54,17 +98,34 @@ public class EventDao {
         return events;
     }
     
-    public void insert(Event event) throws SQLException {
+    /**
+     * Inserts an event and sets the ID the database generated on it.
+     *
+     * @return the same event, now carrying its ID
+     */
+    public Event insert(Event event) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_EVENT)) {
-            stmt.setInt(1, event.getAssocId());
-            stmt.setString(2, event.getEventName());
-            stmt.setDate(3, event.getEventDate());
-            stmt.setString(4, event.getVenue());
-            stmt.setString(5, event.getDescription());
-            stmt.setInt(6, event.getParticipantCount());
-            stmt.executeUpdate();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_EVENT, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, event);
+            event.setEventId(GeneratedKeys.executeInsert(stmt));
+            CACHE.invalidateList();
+            ChangeVersions.bump(conn, ChangeVersions.EVENT);
         }
+        return event;
+    }
+    
+    /**
+     * Inserts many events in one transaction and sets the generated ID on each.
+     *
+     * @return the generated IDs, in list order
+     */
+    public int[] insertAll(List<Event> events) throws SQLException {
+        int[] ids = GeneratedKeys.insertAll(SQLConstants.INSERT_EVENT, events, this::bindInsert,
+            CACHE::invalidateList, ChangeVersions.EVENT);
+        for (int i = 0; i < ids.length; i++) {
+            events.get(i).setEventId(ids[i]);
+        }
+        return ids;
     }
     
     public void update(Event event) throws SQLException {
@@ -78,6 +139,8 @@ public class EventDao {
             stmt.setInt(6, event.getParticipantCount());
             stmt.setInt(7, event.getEventId());
             stmt.executeUpdate();
+            CACHE.invalidate(event.getEventId());
+            ChangeVersions.bump(conn, ChangeVersions.EVENT);
         }
     }
     
@@ -86,9 +149,30 @@ public class EventDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_EVENT)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            CACHE.invalidate(id);
+            // Activities of a deleted event may go with it
+            ActivityDao.CACHE.clear();
+            ChangeVersions.bump(conn, ChangeVersions.EVENT);
         }
     }
     
+    /**
+     * Copies a cached event so callers can change it freely.
+     */
+    private static Event copy(Event e) {
+        return new Event(e.getEventId(), e.getAssocId(), e.getEventName(), e.getEventDate(),
+            e.getVenue(), e.getDescription(), e.getParticipantCount());
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Event event) throws SQLException {
+        stmt.setInt(1, event.getAssocId());
+        stmt.setString(2, event.getEventName());
+        stmt.setDate(3, event.getEventDate());
+        stmt.setString(4, event.getVenue());
+        stmt.setString(5, event.getDescription());
+        stmt.setInt(6, event.getParticipantCount());
+    }
+    
     private Event mapRowToEvent(ResultSet rs) throws SQLException {
         return new Event(
             rs.getInt("event_id"),
@@ -8,14 +8,23 @@ import com.deptassoc.dto.EventDTO;
 import com.deptassoc.dto.StudentDTO;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Faculty entity.
  */
 public class FacultyDao {
     
+    // Read-through cache shared by every instance; the writes below invalidate it
+    private static final EntityCache<Faculty> CACHE = new EntityCache<>("Faculty", Faculty::getFacultyId, FacultyDao::copy);
+    
     public List<Faculty> findAll() throws SQLException {
+        return CACHE.getAll(this::loadAll);
+    }
+    
+    private List<Faculty> loadAll() throws SQLException {
         List<Faculty> faculties = new ArrayList<>();
         try (Connection conn = DBConnectionManager.getConnection();
              Statement stmt = conn.createStatement();
@@ -27,7 +36,19 @@ public class FacultyDao {
         return faculties;
     }
     
+    /**
+     * Returns the next page of faculty in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<Faculty> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_FACULTY_PAGE, afterId, limit, this::mapRowToFaculty);
+    }
+    
     public Faculty findById(int id) throws SQLException {
+        return CACHE.get(id, () -> loadById(id));
+    }
+    
+    private Faculty loadById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_FACULTY_BY_ID)) {
             stmt.setInt(1, id);
@@ -40,15 +61,37 @@ public class FacultyDao {
         return null;
     }
     
-    public void insert(Faculty faculty) throws SQLException {
+    /**
+     * Finds many faculty members at once, using one connection and chunked IN-lists.
+     *
+     * @param ids the IDs to look up
+     * @return Faculty members keyed by ID; IDs with no row are absent
+     */
+    public Map<Integer, Faculty> findByIds(Collection<Integer> ids) throws SQLException {
+        return CACHE.getAll(ids, this::loadByIds);
+    }
+    
+    private Map<Integer, Faculty> loadByIds(Collection<Integer> ids) throws SQLException {
+        return InListQuery.findByIds(SQLConstants.FIND_FACULTY_BY_IDS, "faculty_id", ids, this::mapRowToFaculty);
+    }
+    
+    /**
+     * Inserts a faculty member and sets the ID the database generated on it.
+     *
+     * @return the same faculty, now carrying its ID
+     */
+    public Faculty insert(Faculty faculty) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_FACULTY)) {
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_FACULTY, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, faculty.getFName());
             stmt.setString(2, faculty.getFEmail());
             stmt.setString(3, faculty.getFPhone());
             stmt.setString(4, faculty.getDesignation());
-            stmt.executeUpdate();
+            faculty.setFacultyId(GeneratedKeys.executeInsert(stmt));
+            CACHE.invalidateList();
+            ChangeVersions.bump(conn, ChangeVersions.FACULTY);
         }
+        return faculty;
     }
     
     public void update(Faculty faculty) throws SQLException {
@@ -60,6 +103,8 @@ public class FacultyDao {
             stmt.setString(4, faculty.getDesignation());
             stmt.setInt(5, faculty.getFacultyId());
             stmt.executeUpdate();
+            CACHE.invalidate(faculty.getFacultyId());
+            ChangeVersions.bump(conn, ChangeVersions.FACULTY);
         }
     }
     
@@ -68,9 +113,18 @@ public class FacultyDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_FACULTY)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            CACHE.invalidate(id);
+            ChangeVersions.bump(conn, ChangeVersions.FACULTY);
         }
     }
     
+    /**
+     * Copies a cached faculty so callers can change it freely.
+     */
+    private static Faculty copy(Faculty f) {
+        return new Faculty(f.getFacultyId(), f.getFName(), f.getFEmail(), f.getFPhone(), f.getDesignation());
+    }
+    
     private Faculty mapRowToFaculty(ResultSet rs) throws SQLException {
         return new Faculty(
             rs.getInt("faculty_id"),
@@ -171,7 +225,7 @@ public class FacultyDao {
                      "FROM activity_participants ap " +
                      "JOIN student s ON ap.student_id = s.student_id " +
                      "WHERE ap.activity_id = ? " +
-                     "ORDER BY ap.registered_on DESC";
+                     "ORDER BY ap.registered_on DESC, ap.student_id DESC";
 
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -196,18 +250,70 @@ public class FacultyDao {
     }
 
     /**
-     * Add a new activity to an event.
+     * Returns the next page of getParticipantsForActivity() results, newest registration first.
+     * The page starts after the given row using its (registered_on, student_id) key;
+     * a student registers for an activity at most once, so the key is unique within it.
+     * 
+     * @param activityId the activity ID
+     * @param after the last student of the previous page, or null for the first page
+     * @param limit the maximum number of students to return
+     * @return List of StudentDTO objects with registration info
+     * @throws SQLException if database error occurs
+     */
+    public List<StudentDTO> getParticipantsForActivityPage(int activityId, StudentDTO after, int limit) throws SQLException {
+        KeysetQuery.checkLimit(limit);
+        List<StudentDTO> students = new ArrayList<>();
+        String sql = "SELECT s.student_id, s.s_name, s.s_email, s.phone, ap.registered_on " +
+                     "FROM activity_participants ap " +
+                     "JOIN student s ON ap.student_id = s.student_id " +
+                     "WHERE ap.activity_id = ? " +
+                     (after == null ? "" :
+                     "AND (ap.registered_on < ? OR (ap.registered_on = ? AND ap.student_id < ?)) ") +
+                     "ORDER BY ap.registered_on DESC, ap.student_id DESC " +
+                     "LIMIT ?";
+
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            stmt.setInt(index++, activityId);
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getRegisteredOn());
+                stmt.setTimestamp(index++, after.getRegisteredOn());
+                stmt.setInt(index++, after.getStudentId());
+            }
+            stmt.setInt(index, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    StudentDTO dto = new StudentDTO(
+                        rs.getInt("student_id"),
+                        rs.getString("s_name"),
+                        rs.getString("s_email"),
+                        rs.getString("phone")
+                    );
+                    dto.setRegisteredOn(rs.getTimestamp("registered_on"));
+                    students.add(dto);
+                }
+            }
+        }
+        
+        return students;
+    }
+
+    /**
+     * Add a new activity to an event and set the ID the database generated on it.
      * 
      * @param activityDTO the activity to add
-     * @return true if successful, false otherwise
+     * @return the same DTO carrying its new ID, or null if no row was inserted
      * @throws SQLException if database error occurs
      */
-    public boolean addActivity(ActivityDTO activityDTO) throws SQLException {
+    public ActivityDTO addActivity(ActivityDTO activityDTO) throws SQLException {
         String sql = "INSERT INTO activity (event_id, activity_name, description, start_time, end_time, participant_count) " +
                      "VALUES (?, ?, ?, ?, ?, 0)";
 
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, activityDTO.getEventId());
             stmt.setString(2, activityDTO.getActivityName());
@@ -215,8 +321,14 @@ public class FacultyDao {
             stmt.setTime(4, activityDTO.getStartTime());
             stmt.setTime(5, activityDTO.getEndTime());
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            int activityId = GeneratedKeys.executeInsert(stmt);
+            if (activityId == 0) {
+                return null;
+            }
+            activityDTO.setActivityId(activityId);
+            ActivityDao.CACHE.invalidateList();
+            ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
+            return activityDTO;
         }
     }
 
@@ -236,6 +348,10 @@ public class FacultyDao {
             stmt.setInt(1, activityId);
             
             int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                ActivityDao.CACHE.invalidate(activityId);
+                ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
+            }
             return rowsAffected > 0;
         }
     }
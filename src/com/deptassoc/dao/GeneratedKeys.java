@@ -0,0 +1,111 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runs INSERTs that hand back the AUTO_INCREMENT ids MySQL assigned, so callers
+ * that create and then display a row do not have to query for it again.
+ * Statements must be prepared with Statement.RETURN_GENERATED_KEYS.
+ */
+final class GeneratedKeys {
+
+    /** Rows sent per executeBatch round trip by insertAll. */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Binds the parameters of one row of a batch.
+     */
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    private GeneratedKeys() {
+    }
+
+    /**
+     * Executes a single-row INSERT and returns the id it generated.
+     *
+     * @return the new id, or 0 if no row was inserted
+     */
+    static int executeInsert(PreparedStatement stmt) throws SQLException {
+        if (stmt.executeUpdate() == 0) {
+            return 0;
+        }
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            return keys.next() ? keys.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Inserts many rows in one transaction, sending them in batches of BATCH_SIZE
+     * (rewritten into multi-row INSERTs by the driver). After the commit it runs
+     * onCommit (cache invalidation) and then bumps the change versions of the tables once.
+     *
+     * @param sql the single-row INSERT
+     * @param items the rows to insert
+     * @param binder binds one row
+     * @param onCommit run right after the commit, or null
+     * @param tables the tables that change, for ChangeVersions
+     * @return the generated ids, in the order of items
+     * @throws SQLException if database error occurs; nothing is inserted then
+     */
+    static <T> int[] insertAll(String sql, List<T> items, Binder<T> binder, Runnable onCommit,
+                             String... tables) throws SQLException {
+        int[] ids = new int[items.size()];
+        if (items.isEmpty()) {
+            return ids;
+        }
+
+        Connection conn = DBConnectionManager.getConnection();
+        boolean originalAutoCommit = conn.getAutoCommit();
+        try {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+                    int to = Math.min(items.size(), from + BATCH_SIZE);
+                    for (T item : items.subList(from, to)) {
+                        binder.bind(stmt, item);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    int next = from;
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        while (keys.next() && next < to) {
+                            ids[next++] = keys.getInt(1);
+                        }
+                    }
+                    if (next != to) {
+                        throw new SQLException("Expected " + (to - from) + " generated keys but got " + (next - from));
+                    }
+                }
+            }
+            conn.commit();
+            if (onCommit != null) {
+                onCommit.run();
+            }
+            ChangeVersions.bump(conn, tables);
+            return ids;
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                rollbackEx.printStackTrace();
+            }
+            throw e;
+        } finally {
+            try {
+                conn.setAutoCommit(originalAutoCommit);
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
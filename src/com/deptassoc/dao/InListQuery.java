@@ -0,0 +1,80 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs "WHERE id IN (...)" lookups for the findByIds methods of the entity DAOs.
+ * Ids are de-duplicated and split into chunks that all use one connection.
+ * Each chunk is padded to a power-of-two size, so only a handful of distinct
+ * SQL strings exist per entity and the pooled statement cache stays effective.
+ */
+final class InListQuery {
+
+    /** Largest IN-list sent in one statement. */
+    static final int MAX_CHUNK = 512;
+
+    private InListQuery() {
+    }
+
+    /**
+     * Looks up entities by id.
+     *
+     * @param selectPrefix SQL ending in "WHERE &lt;id column&gt; IN " (see SQLConstants)
+     * @param idColumn the id column read back from each row
+     * @param ids the ids to fetch; nulls and duplicates are ignored
+     * @param mapper maps a row to an entity
+     * @return entities keyed by id; ids with no row are absent
+     */
+    static <T> Map<Integer, T> findByIds(String selectPrefix, String idColumn,
+                                         Collection<Integer> ids, RowMapper<T> mapper) throws SQLException {
+        List<Integer> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        unique.remove(null);
+        Map<Integer, T> result = new HashMap<>(Math.max(16, unique.size() * 4 / 3 + 1));
+        if (unique.isEmpty()) {
+            return result;
+        }
+
+        try (Connection conn = DBConnectionManager.getConnection()) {
+            for (int from = 0; from < unique.size(); from += MAX_CHUNK) {
+                List<Integer> chunk = unique.subList(from, Math.min(unique.size(), from + MAX_CHUNK));
+                int size = paddedSize(chunk.size());
+                try (PreparedStatement stmt = conn.prepareStatement(selectPrefix + placeholders(size))) {
+                    for (int i = 0; i < size; i++) {
+                        // Pad by repeating the last id; duplicates in an IN-list are harmless
+                        stmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            result.put(rs.getInt(idColumn), mapper.map(rs));
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int paddedSize(int count) {
+        int size = Integer.highestOneBit(count);
+        return size == count ? size : Math.min(MAX_CHUNK, size << 1);
+    }
+
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2 + 1).append('(');
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.append(')').toString();
+    }
+}
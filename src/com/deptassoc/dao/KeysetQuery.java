@@ -0,0 +1,52 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs "WHERE id > ? ORDER BY id LIMIT ?" page queries for the findPage methods of the DAOs.
+ * Each page is an index range scan starting at the last key seen, so reading page N
+ * costs the same as reading page 1, unlike LIMIT/OFFSET.
+ */
+final class KeysetQuery {
+
+    private KeysetQuery() {
+    }
+
+    /**
+     * Reads one page.
+     *
+     * @param sql page SQL binding the last seen key, then the limit (see SQLConstants *_PAGE)
+     * @param afterId the last key of the previous page, or 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @param mapper maps a row to an entity
+     * @return up to limit entities in key order; fewer than limit means the last page
+     */
+    static <T> List<T> findPage(String sql, int afterId, int limit, RowMapper<T> mapper) throws SQLException {
+        checkLimit(limit);
+        List<T> page = new ArrayList<>(Math.min(limit, 1024));
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapper.map(rs));
+                }
+            }
+        }
+        return page;
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that repairs drift in activity.participant_count.
+ * ParticipantDao maintains the column with +1/-1 deltas; rows written by other
+ * paths (ActivityParticipantDao, manual SQL) can leave it out of step with
+ * activity_participants, so this periodically recounts and fixes mismatches.
+ *
+ * The scan for mismatches never locks activity_participants: activities are read in id
+ * chunks with plain (non-locking) selects, so registrations are never blocked behind a
+ * full-table scan. Each mismatch is then fixed by its own short transaction that recounts
+ * and stores the count in one UPDATE, holding only that activity's locks. Repaired
+ * counts are patched into the activity cache rather than evicting it.
+ *
+ * Interval is db.reconcile.intervalMinutes in config.properties (0 disables).
+ */
+public class ParticipantCountReconciler {
+
+    /** Activities recounted per pair of reads. */
+    private static final int CHUNK = 500;
+
+    private static final String SELECT_COUNTS =
+        "SELECT activity_id, participant_count FROM activity WHERE activity_id > ? ORDER BY activity_id LIMIT ?";
+    private static final String COUNT_PARTICIPANTS =
+        "SELECT activity_id, COUNT(*) AS cnt FROM activity_participants " +
+        "WHERE activity_id BETWEEN ? AND ? GROUP BY activity_id";
+    private static final String LOCK_COUNT =
+        "SELECT participant_count FROM activity WHERE activity_id = ? FOR UPDATE";
+    // Recounts and stores in one statement, so no registration can commit in between
+    private static final String REPAIR_COUNT =
+        "UPDATE activity SET participant_count = " +
+        "(SELECT COUNT(*) FROM activity_participants WHERE activity_id = ?) WHERE activity_id = ?";
+    private static final String READ_COUNT =
+        "SELECT participant_count FROM activity WHERE activity_id = ?";
+
+    private static ScheduledExecutorService scheduler;
+
+    private ParticipantCountReconciler() {
+    }
+
+    /**
+     * Starts the periodic job using the configured interval. Safe to call more than once.
+     */
+    public static synchronized void start() {
+        long interval = Long.parseLong(DBConnectionManager.getProperty("db.reconcile.intervalMinutes", "15"));
+        if (scheduler != null || interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "participant-count-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int repaired = reconcile();
+                if (repaired > 0) {
+                    System.out.println("Reconciled participant_count for " + repaired + " activities");
+                }
+            } catch (SQLException e) {
+                System.err.println("participant_count reconciliation failed: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the periodic job.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Recounts registrations and fixes every activity whose participant_count differs.
+     * 
+     * The non-locking reads only pick the activities to look at; they may be stale.
+     * Each of those is recounted by REPAIR_COUNT with its activity row locked, the lock
+     * every registration takes first, so the stored count is exact when it commits.
+     * 
+     * @return number of activities repaired
+     * @throws SQLException if database error occurs
+     */
+    public static int reconcile() throws SQLException {
+        int repaired = 0;
+        try (Connection conn = DBConnectionManager.getConnection()) {
+            int lastId = 0;
+            while (true) {
+                Map<Integer, Integer> stored = new LinkedHashMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(SELECT_COUNTS)) {
+                    stmt.setInt(1, lastId);
+                    stmt.setInt(2, CHUNK);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            stored.put(rs.getInt("activity_id"), rs.getInt("participant_count"));
+                            lastId = rs.getInt("activity_id");
+                        }
+                    }
+                }
+                if (stored.isEmpty()) {
+                    break;
+                }
+                
+                Map<Integer, Integer> counted = new HashMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(COUNT_PARTICIPANTS)) {
+                    stmt.setInt(1, stored.keySet().iterator().next());
+                    stmt.setInt(2, lastId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            counted.put(rs.getInt("activity_id"), rs.getInt("cnt"));
+                        }
+                    }
+                }
+                
+                for (Map.Entry<Integer, Integer> entry : stored.entrySet()) {
+                    if (counted.getOrDefault(entry.getKey(), 0).intValue() != entry.getValue()
+                            && repair(conn, entry.getKey())) {
+                        repaired++;
+                    }
+                }
+                if (stored.size() < CHUNK) {
+                    break;
+                }
+            }
+            if (repaired > 0) {
+                ChangeVersions.bump(conn, ChangeVersions.ACTIVITY);
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * Recounts one activity in a short transaction.
+     *
+     * @return true if its participant_count changed
+     */
+    private static boolean repair(Connection conn, int activityId) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            int before = readCount(conn, LOCK_COUNT, activityId);
+            try (PreparedStatement stmt = conn.prepareStatement(REPAIR_COUNT)) {
+                stmt.setInt(1, activityId);
+                stmt.setInt(2, activityId);
+                stmt.executeUpdate();
+            }
+            int after = readCount(conn, READ_COUNT, activityId);
+            conn.commit();
+            if (before == after) {
+                return false;
+            }
+            // A delta, so it composes with the deltas of registrations committing around it
+            ActivityDao.adjustCachedParticipantCount(activityId, after - before);
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static int readCount(Connection conn, String sql, int activityId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, activityId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt("participant_count") : 0;
+            }
+        }
+    }
+}
@@ -3,10 +3,18 @@ package com.deptassoc.dao;
 import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.dto.ActivityDTO;
 import com.deptassoc.dto.RegistrationDTO;
+import com.deptassoc.model.Activity;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Data Access Object for student activity registrations.
@@ -14,6 +22,10 @@ import java.util.List;
  */
 public class ParticipantDao {
 
+    // Sort keys standing in for NULL event dates and start times in findAllActivitiesPage
+    private static final Date NO_EVENT_DATE = Date.valueOf("1000-01-01");
+    private static final Time NO_START_TIME = Time.valueOf("00:00:00");
+
     /**
      * Finds all registrations for a given student.
      * 
@@ -55,10 +67,13 @@ public class ParticipantDao {
     /**
      * Registers a student for an activity (inserts into activity_participants).
      * Uses transaction to ensure atomicity and updates participant_count.
+     * The seat is claimed first with a conditional UPDATE on the activity row,
+     * so concurrent registrations can never exceed max_participants; the row
+     * lock is held only for the insert and commit that follow.
      * 
      * @param studentId the student ID
      * @param activityId the activity ID
-     * @return true if registration successful, false otherwise
+     * @return true if registration successful, false if the activity is full or does not exist
      * @throws SQLException if database error occurs (including constraint violations)
      */
     public boolean registerStudentForActivity(int studentId, int activityId) throws SQLException {
@@ -72,6 +87,12 @@ public class ParticipantDao {
             originalAutoCommit = conn.getAutoCommit();
             conn.setAutoCommit(false);
 
+            // Claim a seat (also updates participant count for activity)
+            if (!claimSeat(conn, activityId)) {
+                conn.rollback();
+                return false;
+            }
+
             // Insert registration
             String insertSql = "INSERT INTO activity_participants (activity_id, student_id, registered_on) VALUES (?, ?, CURRENT_TIMESTAMP)";
             try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
@@ -80,11 +101,12 @@ public class ParticipantDao {
                 insertStmt.executeUpdate();
             }
 
-            // Update participant count for activity
-            updateActivityParticipantCount(conn, activityId);
-
-            // Commit transaction
+            // Commit transaction, version bump included
+            ChangeVersions.bumpInTransaction(conn, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY);
             conn.commit();
+            RegistrationIndex.add(studentId, activityId);
+            ParticipationGraph.add(studentId, activityId);
+            ActivityDao.adjustCachedParticipantCount(activityId, 1);
             return true;
 
         } catch (SQLException e) {
@@ -104,6 +126,139 @@ public class ParticipantDao {
         }
     }
 
+    /**
+     * Registers a student for several activities in one transaction on one connection.
+     * Touched activity rows are locked in id order, then all new registrations are
+     * written with one batched insert and one batched participant_count update.
+     * Activities that are full, missing or already registered are skipped and
+     * reported rather than failing the whole request.
+     * 
+     * @param studentId the student ID
+     * @param activityIds the activity IDs to register for
+     * @return outcome per requested activity ID, in request order
+     * @throws SQLException if database error occurs
+     */
+    public Map<Integer, RegistrationOutcome> registerStudentForActivities(int studentId, List<Integer> activityIds) throws SQLException {
+        Map<Integer, RegistrationOutcome> outcomes = new LinkedHashMap<>();
+        Set<Integer> ids = new TreeSet<>(activityIds);
+        if (ids.isEmpty()) {
+            return outcomes;
+        }
+
+        Connection conn = DBConnectionManager.getConnection();
+        if (conn == null) {
+            throw new SQLException("Database connection is null");
+        }
+        
+        boolean originalAutoCommit = true;
+        try {
+            originalAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            // Lock activity rows in id order and read remaining seats
+            Map<Integer, Integer> seatsLeft = new HashMap<>();
+            String lockSql = "SELECT activity_id, participant_count, max_participants FROM activity " +
+                             "WHERE activity_id IN " + InListQuery.placeholders(ids.size()) +
+                             " ORDER BY activity_id FOR UPDATE";
+            try (PreparedStatement lockStmt = conn.prepareStatement(lockSql)) {
+                int index = 1;
+                for (int id : ids) {
+                    lockStmt.setInt(index++, id);
+                }
+                try (ResultSet rs = lockStmt.executeQuery()) {
+                    while (rs.next()) {
+                        int count = rs.getInt("participant_count");
+                        int max = rs.getInt("max_participants");
+                        seatsLeft.put(rs.getInt("activity_id"), rs.wasNull() ? Integer.MAX_VALUE : max - count);
+                    }
+                }
+            }
+
+            // Existing registrations for this student
+            Set<Integer> registered = new TreeSet<>();
+            String existingSql = "SELECT activity_id FROM activity_participants " +
+                                 "WHERE student_id = ? AND activity_id IN " + InListQuery.placeholders(ids.size());
+            try (PreparedStatement existingStmt = conn.prepareStatement(existingSql)) {
+                existingStmt.setInt(1, studentId);
+                int index = 2;
+                for (int id : ids) {
+                    existingStmt.setInt(index++, id);
+                }
+                try (ResultSet rs = existingStmt.executeQuery()) {
+                    while (rs.next()) {
+                        registered.add(rs.getInt("activity_id"));
+                    }
+                }
+            }
+
+            List<Integer> toInsert = new ArrayList<>();
+            for (int activityId : activityIds) {
+                if (outcomes.containsKey(activityId)) {
+                    continue;
+                }
+                Integer seats = seatsLeft.get(activityId);
+                if (seats == null) {
+                    outcomes.put(activityId, RegistrationOutcome.NOT_FOUND);
+                } else if (registered.contains(activityId)) {
+                    outcomes.put(activityId, RegistrationOutcome.ALREADY_REGISTERED);
+                } else if (seats <= 0) {
+                    outcomes.put(activityId, RegistrationOutcome.FULL);
+                } else {
+                    outcomes.put(activityId, RegistrationOutcome.REGISTERED);
+                    toInsert.add(activityId);
+                }
+            }
+
+            if (!toInsert.isEmpty()) {
+                String insertSql = "INSERT INTO activity_participants (activity_id, student_id, registered_on) VALUES (?, ?, CURRENT_TIMESTAMP)";
+                try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
+                    for (int activityId : toInsert) {
+                        insertStmt.setInt(1, activityId);
+                        insertStmt.setInt(2, studentId);
+                        insertStmt.addBatch();
+                    }
+                    insertStmt.executeBatch();
+                }
+
+                String countSql = "UPDATE activity SET participant_count = participant_count + 1 WHERE activity_id = ?";
+                try (PreparedStatement countStmt = conn.prepareStatement(countSql)) {
+                    for (int activityId : toInsert) {
+                        countStmt.setInt(1, activityId);
+                        countStmt.addBatch();
+                    }
+                    countStmt.executeBatch();
+                }
+            }
+
+            // Commit transaction, version bump included
+            if (!toInsert.isEmpty()) {
+                ChangeVersions.bumpInTransaction(conn, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY);
+            }
+            conn.commit();
+            for (int activityId : toInsert) {
+                RegistrationIndex.add(studentId, activityId);
+                ParticipationGraph.add(studentId, activityId);
+                ActivityDao.adjustCachedParticipantCount(activityId, 1);
+            }
+            return outcomes;
+
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                rollbackEx.printStackTrace();
+            }
+            throw e;
+        } finally {
+            try {
+                conn.setAutoCommit(originalAutoCommit);
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Cancels a student's registration for an activity (deletes from activity_participants).
      * Uses transaction and updates participant_count.
@@ -123,14 +278,16 @@ public class ParticipantDao {
             originalAutoCommit = conn.getAutoCommit();
             conn.setAutoCommit(false);
 
-            // Get activity_id before deletion
+            // Get activity_id (and student_id, for the registration index) before deletion
             int activityId = -1;
-            String selectSql = "SELECT activity_id FROM activity_participants WHERE participant_id = ?";
+            int studentId = -1;
+            String selectSql = "SELECT activity_id, student_id FROM activity_participants WHERE participant_id = ?";
             try (PreparedStatement selectStmt = conn.prepareStatement(selectSql)) {
                 selectStmt.setInt(1, participantId);
                 try (ResultSet rs = selectStmt.executeQuery()) {
                     if (rs.next()) {
                         activityId = rs.getInt("activity_id");
+                        studentId = rs.getInt("student_id");
                     }
                 }
             }
@@ -139,18 +296,26 @@ public class ParticipantDao {
                 throw new SQLException("Registration not found");
             }
 
+            // Lock the activity row before the registration row, like the registration paths
+            lockActivities(conn, activityId);
+
             // Delete registration
             String deleteSql = "DELETE FROM activity_participants WHERE participant_id = ?";
+            int deleted;
             try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
                 deleteStmt.setInt(1, participantId);
-                deleteStmt.executeUpdate();
+                deleted = deleteStmt.executeUpdate();
             }
 
             // Update participant count
-            updateActivityParticipantCount(conn, activityId);
+            adjustActivityParticipantCount(conn, activityId, -deleted);
 
-            // Commit transaction
+            // Commit transaction, version bump included
+            ChangeVersions.bumpInTransaction(conn, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY);
             conn.commit();
+            RegistrationIndex.remove(studentId, activityId);
+            ParticipationGraph.remove(studentId, activityId);
+            ActivityDao.adjustCachedParticipantCount(activityId, -deleted);
             return true;
 
         } catch (SQLException e) {
@@ -212,33 +377,97 @@ public class ParticipantDao {
      */
     public List<ActivityDTO> findAllActivities() throws SQLException {
         List<ActivityDTO> activities = new ArrayList<>();
-        String sql = "SELECT a.activity_id, a.activity_name, a.description, a.start_time, a.end_time, a.participant_count, e.event_name, e.event_id " +
+        String sql = "SELECT a.activity_id, a.activity_name, a.description, a.start_time, a.end_time, a.participant_count, e.event_name, e.event_id, e.event_date " +
                      "FROM activity a " +
                      "JOIN event e ON a.event_id = e.event_id " +
-                     "ORDER BY e.event_date, a.start_time";
+                     "ORDER BY e.event_date, a.start_time, a.activity_id";
 
         try (Connection conn = DBConnectionManager.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                ActivityDTO dto = new ActivityDTO(
-                    rs.getInt("a.activity_id"),
-                    rs.getString("a.activity_name"),
-                    rs.getString("a.description"),
-                    rs.getTime("a.start_time"),
-                    rs.getTime("a.end_time"),
-                    rs.getInt("a.participant_count")
-                );
-                dto.setEventId(rs.getInt("e.event_id"));
-                dto.setEventName(rs.getString("e.event_name"));
-                activities.add(dto);
+                activities.add(mapRowToEventActivity(rs));
             }
         }
         
         return activities;
     }
 
+    /**
+     * Returns the next page of findAllActivities() results, in the same order.
+     * The page starts after the given row using its (event date, start time, activity id)
+     * key. NULL dates and times sort first, as in findAllActivities(), and are compared
+     * through the same COALESCE sentinels in the sort and the keyset condition.
+     *
+     * The sort spans both tables, so MySQL still sorts the joined rows of each page; the
+     * extra event_date bound only lets idx_event_date skip the events of earlier pages.
+     * A page therefore costs less the further into the list it is, not the same.
+     * 
+     * @param after the last activity of the previous page, or null for the first page
+     * @param limit the maximum number of activities to return
+     * @return List of ActivityDTO objects with event_id, event_name and event_date
+     * @throws SQLException if database error occurs
+     */
+    public List<ActivityDTO> findAllActivitiesPage(ActivityDTO after, int limit) throws SQLException {
+        KeysetQuery.checkLimit(limit);
+        List<ActivityDTO> activities = new ArrayList<>();
+        String dateKey = "COALESCE(e.event_date, DATE '1000-01-01')";
+        String timeKey = "COALESCE(a.start_time, TIME '00:00:00')";
+        boolean boundDate = after != null && after.getEventDate() != null;
+        String sql = "SELECT a.activity_id, a.activity_name, a.description, a.start_time, a.end_time, a.participant_count, e.event_name, e.event_id, e.event_date " +
+                     "FROM activity a " +
+                     "JOIN event e ON a.event_id = e.event_id " +
+                     (after == null ? "" :
+                     "WHERE " + (boundDate ? "e.event_date >= ? AND " : "") +
+                     "(" + dateKey + " > ? OR (" + dateKey + " = ? AND " +
+                     "(" + timeKey + " > ? OR (" + timeKey + " = ? AND a.activity_id > ?)))) ") +
+                     "ORDER BY " + dateKey + ", " + timeKey + ", a.activity_id " +
+                     "LIMIT ?";
+
+        try (Connection conn = DBConnectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (after != null) {
+                Date afterDate = after.getEventDate() != null ? after.getEventDate() : NO_EVENT_DATE;
+                Time afterTime = after.getStartTime() != null ? after.getStartTime() : NO_START_TIME;
+                if (boundDate) {
+                    stmt.setDate(index++, afterDate);
+                }
+                stmt.setDate(index++, afterDate);
+                stmt.setDate(index++, afterDate);
+                stmt.setTime(index++, afterTime);
+                stmt.setTime(index++, afterTime);
+                stmt.setInt(index++, after.getActivityId());
+            }
+            stmt.setInt(index, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    activities.add(mapRowToEventActivity(rs));
+                }
+            }
+        }
+        
+        return activities;
+    }
+
+    private ActivityDTO mapRowToEventActivity(ResultSet rs) throws SQLException {
+        ActivityDTO dto = new ActivityDTO(
+            rs.getInt("a.activity_id"),
+            rs.getString("a.activity_name"),
+            rs.getString("a.description"),
+            rs.getTime("a.start_time"),
+            rs.getTime("a.end_time"),
+            rs.getInt("a.participant_count")
+        );
+        dto.setEventId(rs.getInt("e.event_id"));
+        dto.setEventName(rs.getString("e.event_name"));
+        dto.setEventDate(rs.getDate("e.event_date"));
+        return dto;
+    }
+
     /**
      * Finds all activities in the same event, excluding a specific activity.
      * Used for editing/changing registrations.
@@ -283,7 +512,7 @@ public class ParticipantDao {
      * 
      * @param participantId the participant ID (registration to delete)
      * @param newActivityId the new activity ID to register for
-     * @return true if change successful, false otherwise
+     * @return true if change successful, false if the new activity is full
      * @throws SQLException if database error occurs
      */
     public boolean changeRegistration(int participantId, int newActivityId) throws SQLException {
@@ -315,11 +544,33 @@ public class ParticipantDao {
                 throw new SQLException("Registration not found");
             }
 
+            // Lock both activity rows before the registration row, like the registration paths
+            lockActivities(conn, oldActivityId, newActivityId);
+
             // Delete old registration
             String deleteSql = "DELETE FROM activity_participants WHERE participant_id = ?";
+            int deleted;
             try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
                 deleteStmt.setInt(1, participantId);
-                deleteStmt.executeUpdate();
+                deleted = deleteStmt.executeUpdate();
+            }
+
+            // Update participant counts for both activities, lower ID first so
+            // concurrent changes lock activity rows in the same order.
+            // The new activity's seat is claimed against its capacity.
+            if (oldActivityId != newActivityId) {
+                boolean claimed;
+                if (oldActivityId < newActivityId) {
+                    adjustActivityParticipantCount(conn, oldActivityId, -deleted);
+                    claimed = claimSeat(conn, newActivityId);
+                } else {
+                    claimed = claimSeat(conn, newActivityId);
+                    adjustActivityParticipantCount(conn, oldActivityId, -deleted);
+                }
+                if (!claimed) {
+                    conn.rollback();
+                    return false;
+                }
             }
 
             // Insert new registration
@@ -330,12 +581,17 @@ public class ParticipantDao {
                 insertStmt.executeUpdate();
             }
 
-            // Update participant counts for both activities
-            updateActivityParticipantCount(conn, oldActivityId);
-            updateActivityParticipantCount(conn, newActivityId);
-
-            // Commit transaction
+            // Commit transaction, version bump included
+            ChangeVersions.bumpInTransaction(conn, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY);
             conn.commit();
+            RegistrationIndex.remove(studentId, oldActivityId);
+            ParticipationGraph.remove(studentId, oldActivityId);
+            RegistrationIndex.add(studentId, newActivityId);
+            ParticipationGraph.add(studentId, newActivityId);
+            if (oldActivityId != newActivityId) {
+                ActivityDao.adjustCachedParticipantCount(oldActivityId, -deleted);
+                ActivityDao.adjustCachedParticipantCount(newActivityId, 1);
+            }
             return true;
 
         } catch (SQLException e) {
@@ -356,42 +612,46 @@ public class ParticipantDao {
     }
 
     /**
-     * Adds a participant registration (simple version without transaction control).
-     * Inserts a single row into activity_participants.
+     * Finds all activities that a student is NOT yet registered for.
+     * Computed in memory as the cached activity catalog minus the student's entry in
+     * RegistrationIndex; the database is only read when either of them misses.
      * 
-     * @param activityId the activity ID
      * @param studentId the student ID
-     * @return true if insertion successful, false otherwise
-     * @throws SQLException if database error occurs (including constraint violations)
+     * @return List of ActivityDTO objects for available activities, in activity ID order
+     * @throws SQLException if database error occurs
      */
-    public boolean addParticipant(int activityId, int studentId) throws SQLException {
-        String sql = "INSERT INTO activity_participants (activity_id, student_id, registered_on) VALUES (?, ?, CURRENT_TIMESTAMP)";
-        
-        try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, activityId);
-            stmt.setInt(2, studentId);
-            int result = stmt.executeUpdate();
-            return result > 0;
+    public List<ActivityDTO> findAvailableActivitiesForStudent(int studentId) throws SQLException {
+        int[] registered = RegistrationIndex.get(studentId, () -> findRegisteredActivityIds(studentId));
+        List<Activity> catalog = new ActivityDao().findAll();
+        catalog.sort(Comparator.comparingInt(Activity::getActivityId));
+
+        List<ActivityDTO> activities = new ArrayList<>(Math.max(0, catalog.size() - registered.length));
+        for (Activity activity : catalog) {
+            if (Arrays.binarySearch(registered, activity.getActivityId()) < 0) {
+                activities.add(new ActivityDTO(
+                    activity.getActivityId(),
+                    activity.getActivityName(),
+                    activity.getDescription(),
+                    activity.getStartTime(),
+                    activity.getEndTime(),
+                    activity.getParticipantCount()
+                ));
+            }
         }
+        return activities;
     }
 
     /**
-     * Finds all activities that a student is NOT yet registered for.
-     * Uses LEFT JOIN to exclude activities where student already has a registration.
+     * Reads the IDs of the activities a student is registered for.
      * 
      * @param studentId the student ID
-     * @return List of ActivityDTO objects for available activities
+     * @return activity IDs, unordered
      * @throws SQLException if database error occurs
      */
-    public List<ActivityDTO> findAvailableActivitiesForStudent(int studentId) throws SQLException {
-        List<ActivityDTO> activities = new ArrayList<>();
-        String sql = "SELECT DISTINCT a.activity_id, a.activity_name, a.description, a.start_time, a.end_time, a.participant_count " +
-                     "FROM activity a " +
-                     "LEFT JOIN activity_participants ap ON a.activity_id = ap.activity_id AND ap.student_id = ? " +
-                     "WHERE ap.participant_id IS NULL " +
-                     "ORDER BY a.activity_id";
+    private int[] findRegisteredActivityIds(int studentId) throws SQLException {
+        String sql = "SELECT activity_id FROM activity_participants WHERE student_id = ?";
+        int[] ids = new int[16];
+        int count = 0;
 
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -400,47 +660,71 @@ public class ParticipantDao {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    ActivityDTO dto = new ActivityDTO(
-                        rs.getInt("a.activity_id"),
-                        rs.getString("a.activity_name"),
-                        rs.getString("a.description"),
-                        rs.getTime("a.start_time"),
-                        rs.getTime("a.end_time"),
-                        rs.getInt("a.participant_count")
-                    );
-                    activities.add(dto);
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getInt("activity_id");
                 }
             }
         }
         
-        return activities;
+        return Arrays.copyOf(ids, count);
     }
 
     /**
-     * Updates the participant_count for an activity based on current registrations.
-     * This method should be called within an existing transaction.
+     * Locks activity rows in id order. Every write here and in RegistrationQueue locks
+     * the activity rows it touches before any activity_participants row, so they cannot
+     * deadlock on each other.
+     */
+    private void lockActivities(Connection conn, int... activityIds) throws SQLException {
+        String lockSql = "SELECT activity_id FROM activity WHERE activity_id IN " +
+                         InListQuery.placeholders(activityIds.length) + " ORDER BY activity_id FOR UPDATE";
+        try (PreparedStatement lockStmt = conn.prepareStatement(lockSql)) {
+            for (int i = 0; i < activityIds.length; i++) {
+                lockStmt.setInt(i + 1, activityIds[i]);
+            }
+            lockStmt.executeQuery().close();
+        }
+    }
+
+    /**
+     * Atomically takes one seat in an activity if it has capacity left.
+     * The conditional UPDATE both checks and increments participant_count,
+     * so no separate SELECT ... FOR UPDATE is needed. This method should be
+     * called within an existing transaction, before the registration insert.
      * 
      * @param conn the database connection (must have auto-commit = false)
      * @param activityId the activity ID
+     * @return true if a seat was taken, false if the activity is full or does not exist
      * @throws SQLException if database error occurs
      */
-    private void updateActivityParticipantCount(Connection conn, int activityId) throws SQLException {
-        // Get current count
-        String countSql = "SELECT COUNT(*) FROM activity_participants WHERE activity_id = ?";
-        int count = 0;
-        try (PreparedStatement countStmt = conn.prepareStatement(countSql)) {
-            countStmt.setInt(1, activityId);
-            try (ResultSet rs = countStmt.executeQuery()) {
-                if (rs.next()) {
-                    count = rs.getInt(1);
-                }
-            }
+    private boolean claimSeat(Connection conn, int activityId) throws SQLException {
+        String claimSql = "UPDATE activity SET participant_count = participant_count + 1 " +
+                          "WHERE activity_id = ? AND (max_participants IS NULL OR participant_count < max_participants)";
+        try (PreparedStatement claimStmt = conn.prepareStatement(claimSql)) {
+            claimStmt.setInt(1, activityId);
+            return claimStmt.executeUpdate() == 1;
         }
+    }
 
-        // Update activity table
-        String updateSql = "UPDATE activity SET participant_count = ? WHERE activity_id = ?";
+    /**
+     * Applies a registration delta to an activity's participant_count in place,
+     * instead of recounting activity_participants. This method should be called
+     * within the same transaction as the insert/delete it accounts for.
+     * Any drift is repaired by ParticipantCountReconciler.
+     * 
+     * @param conn the database connection (must have auto-commit = false)
+     * @param activityId the activity ID
+     * @param delta number of registrations added (positive) or removed (negative)
+     * @throws SQLException if database error occurs
+     */
+    private void adjustActivityParticipantCount(Connection conn, int activityId, int delta) throws SQLException {
+        if (delta == 0) {
+            return;
+        }
+        String updateSql = "UPDATE activity SET participant_count = GREATEST(participant_count + ?, 0) WHERE activity_id = ?";
         try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-            updateStmt.setInt(1, count);
+            updateStmt.setInt(1, delta);
             updateStmt.setInt(2, activityId);
             updateStmt.executeUpdate();
         }
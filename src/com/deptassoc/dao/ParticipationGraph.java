@@ -0,0 +1,451 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+import com.deptassoc.model.ActivityParticipant;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Who is registered for what, held as primitive adjacency arrays in both directions
+ * (student to activities and activity to students) instead of ActivityParticipant objects.
+ *
+ * Each direction is stored CSR style: a sorted int[] of vertex ids, an int[] of offsets
+ * and one int[] with every vertex's neighbours, sorted within each vertex. An edge costs
+ * 4 bytes per direction and a vertex 8 bytes, so lookups and counts are a binary search
+ * and walking a slice, with no boxing.
+ *
+ * current() builds the arrays with one streaming scan of activity_participants and keeps
+ * the graph for db.cache.ttlSeconds (0 rebuilds it on every call). The arrays are never
+ * changed: registration writes record the new neighbour list of each vertex they touch
+ * in a small per-vertex overlay, so a write costs O(degree) rather than a copy of the
+ * arrays. The overlay lives as long as the graph; once it expires, the next scan reads
+ * those registrations from the table like any other and starts with an empty overlay.
+ * Writes made while a scan runs are replayed onto its graph before it is kept, so a
+ * busy registration window does not stop the graph from being kept. ActivityParticipantDao
+ * writes, which do not know every affected pair, drop the kept graph.
+ */
+public final class ParticipationGraph {
+
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(
+        Long.parseLong(DBConnectionManager.getProperty("db.cache.ttlSeconds", "60")));
+    // Java array header, used for the memory estimate
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static ParticipationGraph current;
+    private static long expiresAt;
+    // Scans started by current() that have not finished, each collecting the writes made meanwhile
+    private static final List<Scan> SCANS = new ArrayList<>();
+
+    private final Side byStudent;
+    private final Side byActivity;
+    // Edges added minus removed since the scan; written under the class lock
+    private volatile int edgeDelta;
+
+    private ParticipationGraph(Side byStudent, Side byActivity) {
+        this.byStudent = byStudent;
+        this.byActivity = byActivity;
+    }
+
+    /**
+     * Returns the kept graph, scanning activity_participants if there is none or it expired.
+     *
+     * @throws SQLException if database error occurs
+     */
+    public static ParticipationGraph current() throws SQLException {
+        Scan pending = new Scan();
+        synchronized (ParticipationGraph.class) {
+            if (current != null && System.nanoTime() - expiresAt < 0) {
+                return current;
+            }
+            SCANS.add(pending);
+        }
+        ParticipationGraph loaded;
+        try {
+            loaded = scan();
+        } catch (SQLException | RuntimeException | Error e) {
+            synchronized (ParticipationGraph.class) {
+                SCANS.remove(pending);
+            }
+            throw e;
+        }
+        synchronized (ParticipationGraph.class) {
+            SCANS.remove(pending);
+            // Adding or removing an edge the scan already saw changes nothing
+            for (int i = 0; i < pending.size; i++) {
+                int studentId = pending.students[i];
+                int activityId = pending.activities[i];
+                if (activityId >= 0) {
+                    loaded.link(studentId, activityId);
+                } else {
+                    loaded.unlink(studentId, ~activityId);
+                }
+            }
+            if (!pending.cleared && TTL_NANOS > 0) {
+                current = loaded;
+                expiresAt = System.nanoTime() + TTL_NANOS;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Builds a fresh graph with one streaming scan of activity_participants, bypassing the kept one.
+     *
+     * @throws SQLException if database error occurs
+     */
+    public static ParticipationGraph scan() throws SQLException {
+        try (Stream<ActivityParticipant> rows = new ActivityParticipantDao().streamAll()) {
+            EdgeBuffer edges = new EdgeBuffer();
+            rows.forEach(p -> edges.add(p.getStudentId(), p.getActivityId()));
+            return new ParticipationGraph(
+                Side.build(edges.students, edges.activities, edges.size),
+                Side.build(edges.activities, edges.students, edges.size));
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Records a committed registration in the kept graph.
+     */
+    static synchronized void add(int studentId, int activityId) {
+        for (Scan scan : SCANS) {
+            scan.add(studentId, activityId);
+        }
+        if (current != null) {
+            current.link(studentId, activityId);
+        }
+    }
+
+    /**
+     * Records a committed cancellation in the kept graph.
+     */
+    static synchronized void remove(int studentId, int activityId) {
+        for (Scan scan : SCANS) {
+            scan.add(studentId, ~activityId);
+        }
+        if (current != null) {
+            current.unlink(studentId, activityId);
+        }
+    }
+
+    /**
+     * Drops the kept graph, after a write whose pairs are not known.
+     */
+    static synchronized void clear() {
+        for (Scan scan : SCANS) {
+            scan.cleared = true;
+        }
+        current = null;
+    }
+
+    // Called under the class lock
+    private void link(int studentId, int activityId) {
+        if (byStudent.with(studentId, activityId)) {
+            byActivity.with(activityId, studentId);
+            edgeDelta++;
+        }
+    }
+
+    // Called under the class lock
+    private void unlink(int studentId, int activityId) {
+        if (byStudent.without(studentId, activityId)) {
+            byActivity.without(activityId, studentId);
+            edgeDelta--;
+        }
+    }
+
+    /**
+     * Returns the ids of the activities a student is registered for, in ascending order.
+     */
+    public int[] activitiesOf(int studentId) {
+        return byStudent.neighbours(studentId);
+    }
+
+    /**
+     * Returns the ids of the students registered for an activity, in ascending order.
+     */
+    public int[] studentsOf(int activityId) {
+        return byActivity.neighbours(activityId);
+    }
+
+    public int countActivities(int studentId) {
+        return byStudent.degree(studentId);
+    }
+
+    public int countStudents(int activityId) {
+        return byActivity.degree(activityId);
+    }
+
+    public boolean isRegistered(int studentId, int activityId) {
+        return byStudent.contains(studentId, activityId);
+    }
+
+    /**
+     * Returns the ids of all students with at least one registration, in ascending order.
+     */
+    public int[] studentIds() {
+        return byStudent.keys();
+    }
+
+    /**
+     * Returns the ids of all activities with at least one registration, in ascending order.
+     */
+    public int[] activityIds() {
+        return byActivity.keys();
+    }
+
+    public int edgeCount() {
+        return byStudent.targets.length + edgeDelta;
+    }
+
+    /**
+     * Returns the bytes held by the arrays of both directions, headers included,
+     * plus an estimate for the overlays of vertices written since the scan.
+     */
+    public long memoryBytes() {
+        return byStudent.memoryBytes() + byActivity.memoryBytes();
+    }
+
+    /**
+     * Returns memoryBytes() divided by the number of registrations (0 for an empty graph).
+     */
+    public double bytesPerEdge() {
+        int edges = edgeCount();
+        return edges == 0 ? 0.0 : (double) memoryBytes() / edges;
+    }
+
+    /**
+     * One direction of the graph: the neighbours of keys[i] are
+     * targets[offsets[i]] up to targets[offsets[i + 1]], sorted, unless the key
+     * has an entry in changed, which then holds its whole neighbour list.
+     */
+    private static final class Side {
+        // Per-vertex overlay cost estimate: map node, boxed key and array header
+        private static final int CHANGED_ENTRY_BYTES = 32 + 16 + ARRAY_HEADER_BYTES;
+        private static final int[] NONE = new int[0];
+
+        final int[] keys;
+        final int[] offsets;
+        final int[] targets;
+        // Sorted neighbour lists written since the scan (possibly empty); replaced, never changed
+        final Map<Integer, int[]> changed = new ConcurrentHashMap<>();
+
+        Side(int[] keys, int[] offsets, int[] targets) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /**
+         * Groups the pairs (from[i], to[i]) by from with a counting sort.
+         * Duplicate pairs are kept only once.
+         */
+        static Side build(int[] from, int[] to, int size) {
+            int[] keys = Arrays.copyOf(from, size);
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || keys[i] != keys[i - 1]) {
+                    keys[distinct++] = keys[i];
+                }
+            }
+            keys = Arrays.copyOf(keys, distinct);
+
+            int[] offsets = new int[distinct + 1];
+            int[] slot = new int[size];
+            for (int i = 0; i < size; i++) {
+                slot[i] = Arrays.binarySearch(keys, from[i]);
+                offsets[slot[i] + 1]++;
+            }
+            for (int k = 0; k < distinct; k++) {
+                offsets[k + 1] += offsets[k];
+            }
+            int[] fill = Arrays.copyOf(offsets, distinct);
+            int[] targets = new int[size];
+            for (int i = 0; i < size; i++) {
+                targets[fill[slot[i]]++] = to[i];
+            }
+
+            // Sort each slice and squeeze out duplicates
+            int written = 0;
+            for (int k = 0; k < distinct; k++) {
+                int start = offsets[k];
+                int end = offsets[k + 1];
+                Arrays.sort(targets, start, end);
+                offsets[k] = written;
+                for (int i = start; i < end; i++) {
+                    if (i == start || targets[i] != targets[i - 1]) {
+                        targets[written++] = targets[i];
+                    }
+                }
+            }
+            offsets[distinct] = written;
+            return new Side(keys, offsets, written == size ? targets : Arrays.copyOf(targets, written));
+        }
+
+        int[] neighbours(int key) {
+            int[] list = changed.get(key);
+            if (list != null) {
+                return list.clone();
+            }
+            int k = Arrays.binarySearch(keys, key);
+            return k < 0 ? new int[0] : Arrays.copyOfRange(targets, offsets[k], offsets[k + 1]);
+        }
+
+        int degree(int key) {
+            int[] list = changed.get(key);
+            if (list != null) {
+                return list.length;
+            }
+            int k = Arrays.binarySearch(keys, key);
+            return k < 0 ? 0 : offsets[k + 1] - offsets[k];
+        }
+
+        boolean contains(int key, int target) {
+            int[] list = changed.get(key);
+            if (list != null) {
+                return Arrays.binarySearch(list, target) >= 0;
+            }
+            int k = Arrays.binarySearch(keys, key);
+            return k >= 0 && Arrays.binarySearch(targets, offsets[k], offsets[k + 1], target) >= 0;
+        }
+
+        /**
+         * Returns the keys with at least one neighbour, in ascending order.
+         */
+        int[] keys() {
+            if (changed.isEmpty()) {
+                return keys.clone();
+            }
+            int[] result = new int[keys.length + changed.size()];
+            int n = 0;
+            for (int key : keys) {
+                int[] list = changed.get(key);
+                if (list == null || list.length > 0) {
+                    result[n++] = key;
+                }
+            }
+            for (Map.Entry<Integer, int[]> entry : changed.entrySet()) {
+                if (entry.getValue().length > 0 && Arrays.binarySearch(keys, entry.getKey()) < 0) {
+                    result[n++] = entry.getKey();
+                }
+            }
+            result = Arrays.copyOf(result, n);
+            Arrays.sort(result);
+            return result;
+        }
+
+        /**
+         * Adds an edge; called under the class lock.
+         *
+         * @return false if it was already there
+         */
+        boolean with(int key, int target) {
+            int[] list = current(key);
+            int pos = Arrays.binarySearch(list, target);
+            if (pos >= 0) {
+                return false;
+            }
+            changed.put(key, insert(list, -pos - 1, target));
+            return true;
+        }
+
+        /**
+         * Removes an edge; called under the class lock.
+         *
+         * @return false if it was not there
+         */
+        boolean without(int key, int target) {
+            int[] list = current(key);
+            int pos = Arrays.binarySearch(list, target);
+            if (pos < 0) {
+                return false;
+            }
+            changed.put(key, delete(list, pos));
+            return true;
+        }
+
+        /**
+         * Returns the neighbour list of a key without copying an overlay entry.
+         */
+        private int[] current(int key) {
+            int[] list = changed.get(key);
+            if (list != null) {
+                return list;
+            }
+            int k = Arrays.binarySearch(keys, key);
+            return k < 0 ? NONE : Arrays.copyOfRange(targets, offsets[k], offsets[k + 1]);
+        }
+
+        long memoryBytes() {
+            long bytes = 3L * ARRAY_HEADER_BYTES + 4L * ((long) keys.length + offsets.length + targets.length);
+            for (int[] list : changed.values()) {
+                bytes += CHANGED_ENTRY_BYTES + 4L * list.length;
+            }
+            return bytes;
+        }
+
+        private static int[] insert(int[] array, int at, int value) {
+            int[] grown = new int[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = value;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+
+        private static int[] delete(int[] array, int at) {
+            int[] shrunk = new int[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, at);
+            System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+            return shrunk;
+        }
+    }
+
+    /**
+     * The writes made while one scan runs: (student, activity) for a registration,
+     * (student, ~activity) for a cancellation.
+     */
+    private static final class Scan extends EdgeBuffer {
+        boolean cleared;
+
+        Scan() {
+            super(4);
+        }
+    }
+
+    /**
+     * Growable pair of int arrays the scan appends to.
+     */
+    private static class EdgeBuffer {
+        int[] students;
+        int[] activities;
+        int size;
+
+        EdgeBuffer() {
+            this(1024);
+        }
+
+        EdgeBuffer(int capacity) {
+            students = new int[capacity];
+            activities = new int[capacity];
+        }
+
+        void add(int studentId, int activityId) {
+            if (size == students.length) {
+                students = Arrays.copyOf(students, size * 2);
+                activities = Arrays.copyOf(activities, size * 2);
+            }
+            students[size] = studentId;
+            activities[size] = activityId;
+            size++;
+        }
+    }
+}
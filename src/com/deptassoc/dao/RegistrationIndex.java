@@ -0,0 +1,210 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of the activity ids each student is registered for.
+ * A student's ids are kept as one sorted int[] (4 bytes per registration, no boxing),
+ * so "is registered" is a binary search and "available activities" is the activity
+ * catalog minus that array.
+ *
+ * Students are loaded from activity_participants on first use and kept up to date by
+ * the ParticipantDao and RegistrationQueue writes; ActivityParticipantDao writes, which
+ * do not know every affected student, clear the index. Holds at most
+ * db.registrationIndex.maxStudents students (least recently used are dropped first),
+ * each for db.cache.ttlSeconds so writes from other processes are picked up.
+ * A ttl of 0 turns the index off.
+ *
+ * Arrays handed out are never modified; writes replace them.
+ */
+final class RegistrationIndex {
+
+    /**
+     * Reads a student's registered activity ids from the database.
+     */
+    interface Loader {
+        int[] load() throws SQLException;
+    }
+
+    private static final int MAX_STUDENTS =
+        Math.max(1, Integer.parseInt(DBConnectionManager.getProperty("db.registrationIndex.maxStudents", "10000")));
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(
+        Long.parseLong(DBConnectionManager.getProperty("db.cache.ttlSeconds", "60")));
+
+    private static final Map<Integer, Entry> ENTRIES = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            return size() > MAX_STUDENTS;
+        }
+    };
+    // Loads in flight by student, each collecting that student's writes while it reads
+    private static final Map<Integer, List<Load>> LOADS = new HashMap<>();
+
+    private RegistrationIndex() {
+    }
+
+    /**
+     * Returns the sorted activity ids a student is registered for, loading them on a miss.
+     * The loader may return ids in any order.
+     *
+     * Registrations and cancellations of the same student committed while the load runs
+     * are replayed onto its result before it is stored. Both are set operations, so
+     * replaying one the load already saw changes nothing. Writes by other students do
+     * not affect the load; only clear() makes it skip storing.
+     */
+    static int[] get(int studentId, Loader loader) throws SQLException {
+        Load load;
+        synchronized (RegistrationIndex.class) {
+            Entry entry = ENTRIES.get(studentId);
+            if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+                return entry.activityIds;
+            }
+            load = new Load();
+            LOADS.computeIfAbsent(studentId, k -> new ArrayList<>(1)).add(load);
+        }
+        int[] loaded;
+        try {
+            loaded = loader.load().clone();
+        } catch (SQLException | RuntimeException | Error e) {
+            synchronized (RegistrationIndex.class) {
+                finish(studentId, load);
+            }
+            throw e;
+        }
+        Arrays.sort(loaded);
+        synchronized (RegistrationIndex.class) {
+            finish(studentId, load);
+            for (int i = 0; i < load.size; i++) {
+                int op = load.ops[i];
+                loaded = op >= 0 ? with(loaded, op) : without(loaded, ~op);
+            }
+            if (!load.cleared && TTL_NANOS > 0) {
+                ENTRIES.put(studentId, new Entry(loaded, System.nanoTime() + TTL_NANOS));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Records a committed registration.
+     */
+    static synchronized void add(int studentId, int activityId) {
+        record(studentId, activityId);
+        Entry entry = ENTRIES.get(studentId);
+        if (entry != null) {
+            int[] ids = with(entry.activityIds, activityId);
+            if (ids != entry.activityIds) {
+                ENTRIES.put(studentId, new Entry(ids, entry.expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Records a committed cancellation.
+     */
+    static synchronized void remove(int studentId, int activityId) {
+        record(studentId, ~activityId);
+        Entry entry = ENTRIES.get(studentId);
+        if (entry != null) {
+            int[] ids = without(entry.activityIds, activityId);
+            if (ids != entry.activityIds) {
+                ENTRIES.put(studentId, new Entry(ids, entry.expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Forgets every student, after a write whose students are not known.
+     */
+    static synchronized void clear() {
+        for (List<Load> loads : LOADS.values()) {
+            for (Load load : loads) {
+                load.cleared = true;
+            }
+        }
+        ENTRIES.clear();
+    }
+
+    private static void record(int studentId, int op) {
+        List<Load> loads = LOADS.get(studentId);
+        if (loads != null) {
+            for (Load load : loads) {
+                load.add(op);
+            }
+        }
+    }
+
+    private static void finish(int studentId, Load load) {
+        List<Load> loads = LOADS.get(studentId);
+        loads.remove(load);
+        if (loads.isEmpty()) {
+            LOADS.remove(studentId);
+        }
+    }
+
+    /**
+     * Returns the sorted ids with one added, or the same array if it was there.
+     */
+    private static int[] with(int[] ids, int activityId) {
+        int pos = Arrays.binarySearch(ids, activityId);
+        if (pos >= 0) {
+            return ids;
+        }
+        int at = -pos - 1;
+        int[] grown = new int[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, at);
+        grown[at] = activityId;
+        System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+        return grown;
+    }
+
+    /**
+     * Returns the sorted ids with one removed, or the same array if it was not there.
+     */
+    private static int[] without(int[] ids, int activityId) {
+        int at = Arrays.binarySearch(ids, activityId);
+        if (at < 0) {
+            return ids;
+        }
+        int[] shrunk = new int[ids.length - 1];
+        System.arraycopy(ids, 0, shrunk, 0, at);
+        System.arraycopy(ids, at + 1, shrunk, at, ids.length - at - 1);
+        return shrunk;
+    }
+
+    /**
+     * The writes of one student made while a load of that student runs: an activity id
+     * for a registration, its complement (~id) for a cancellation.
+     */
+    private static final class Load {
+        int[] ops = new int[4];
+        int size;
+        boolean cleared;
+
+        void add(int op) {
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+            }
+            ops[size++] = op;
+        }
+    }
+
+    private static final class Entry {
+        final int[] activityIds;
+        final long expiresAt;
+
+        Entry(int[] activityIds, long expiresAt) {
+            this.activityIds = activityIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.deptassoc.dao;
+
+/**
+ * Result of a single registration or cancellation request.
+ */
+public enum RegistrationOutcome {
+    /** The student is now registered for the activity. */
+    REGISTERED,
+    /** The registration was removed. */
+    CANCELLED,
+    /** The student already had a registration for the activity. */
+    ALREADY_REGISTERED,
+    /** The activity has no seats left. */
+    FULL,
+    /** The activity (for a registration) or the registration (for a cancel) does not exist. */
+    NOT_FOUND;
+
+    /**
+     * Returns true for outcomes where the requested change was applied.
+     */
+    public boolean isSuccess() {
+        return this == REGISTERED || this == CANCELLED;
+    }
+}
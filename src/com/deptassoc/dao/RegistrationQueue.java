@@ -0,0 +1,486 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion queue for registrations and cancellations.
+ * Requests submitted within a short window are applied together in one
+ * transaction (group commit): one multi-row DELETE, one multi-row INSERT and
+ * one participant_count update per touched activity. Each caller gets a
+ * CompletableFuture that completes with its own RegistrationOutcome.
+ *
+ * Seat limits are honoured first-come-first-served within a batch, with the
+ * touched activity rows locked in id order for the duration of the transaction.
+ * They are locked before any activity_participants row, like every ParticipantDao
+ * write, so a batch cannot deadlock against a direct registration.
+ * If a batch fails as a whole (e.g. a duplicate inserted concurrently by another
+ * path), its requests are retried one at a time so only the offending request fails.
+ *
+ * Tuned by db.registrationQueue.flushIntervalMs and db.registrationQueue.maxBatch.
+ * shutdown() applies everything queued before it; requests submitted afterwards,
+ * or still queued if the flusher is interrupted, complete exceptionally, so no
+ * caller is left waiting on its future.
+ */
+public class RegistrationQueue {
+
+    private static RegistrationQueue instance;
+
+    // Queued by shutdown() after the last accepted request
+    private static final Command STOP = new Command(false, 0, 0, 0);
+
+    private final BlockingQueue<Command> pending = new LinkedBlockingQueue<>();
+    private final long flushIntervalNanos;
+    private final int maxBatch;
+    private final Thread flusher;
+    // Guards running, so a request is either queued before STOP or rejected
+    private final Object lock = new Object();
+    private boolean running = true;
+
+    RegistrationQueue(long flushIntervalMs, int maxBatch) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.flusher = new Thread(this::run, "registration-queue");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Returns the shared queue, starting it on first use.
+     */
+    public static synchronized RegistrationQueue getInstance() {
+        if (instance == null) {
+            instance = new RegistrationQueue(
+                Long.parseLong(DBConnectionManager.getProperty("db.registrationQueue.flushIntervalMs", "5")),
+                Integer.parseInt(DBConnectionManager.getProperty("db.registrationQueue.maxBatch", "200")));
+        }
+        return instance;
+    }
+
+    /**
+     * Shuts down the shared queue if it was started. Called on application exit.
+     */
+    public static synchronized void shutdownIfStarted() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    /**
+     * Queues a registration of a student for an activity.
+     * 
+     * @return completes with REGISTERED, ALREADY_REGISTERED, FULL or NOT_FOUND,
+     *         or exceptionally with the SQLException if the database write failed
+     */
+    public CompletableFuture<RegistrationOutcome> register(int studentId, int activityId) {
+        return submit(new Command(false, studentId, activityId, 0));
+    }
+
+    /**
+     * Queues cancellation of a registration.
+     * 
+     * @return completes with CANCELLED or NOT_FOUND, or exceptionally on database failure
+     */
+    public CompletableFuture<RegistrationOutcome> cancel(int participantId) {
+        return submit(new Command(true, 0, 0, participantId));
+    }
+
+    /**
+     * Stops accepting requests and flushes what is already queued.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            if (running) {
+                running = false;
+                pending.add(STOP);
+            }
+        }
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<RegistrationOutcome> submit(Command command) {
+        synchronized (lock) {
+            if (running) {
+                pending.add(command);
+                return command.future;
+            }
+        }
+        command.future.completeExceptionally(new SQLException("Registration queue is shut down"));
+        return command.future;
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>();
+        try {
+            boolean stopping = false;
+            while (!stopping) {
+                Command first = pending.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Command next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    failAll(batch, e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Stop accepting, then fail what was collected or is still queued
+            synchronized (lock) {
+                running = false;
+            }
+            SQLException stopped = new SQLException("Registration queue was interrupted");
+            failAll(batch, stopped);
+            List<Command> left = new ArrayList<>();
+            pending.drainTo(left);
+            failAll(left, stopped);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completes every command not completed yet with an exception.
+     */
+    private static void failAll(List<Command> commands, Exception e) {
+        for (Command command : commands) {
+            command.future.completeExceptionally(e);
+        }
+    }
+
+    private void flush(List<Command> batch) {
+        try {
+            Map<Command, RegistrationOutcome> outcomes = apply(batch);
+            for (Command command : batch) {
+                command.future.complete(outcomes.get(command));
+            }
+        } catch (SQLException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            for (Command command : batch) {
+                flush(Collections.singletonList(command));
+            }
+        }
+    }
+
+    /**
+     * Applies a batch in a single transaction. Cancels are applied before registrations,
+     * so a student can cancel and re-register for the same activity in one batch.
+     */
+    private Map<Command, RegistrationOutcome> apply(List<Command> batch) throws SQLException {
+        Map<Command, RegistrationOutcome> outcomes = new IdentityHashMap<>();
+        List<Command> cancels = new ArrayList<>();
+        List<Command> registers = new ArrayList<>();
+        for (Command command : batch) {
+            (command.cancel ? cancels : registers).add(command);
+        }
+
+        try (Connection conn = DBConnectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<Integer, Integer> deltas = new TreeMap<>();
+                List<Long> cancelled = new ArrayList<>();
+                Set<Integer> activityIds = new TreeSet<>(findCancelledActivities(conn, cancels));
+                for (Command command : registers) {
+                    activityIds.add(command.activityId);
+                }
+                Map<Integer, Integer> freeSeats = lockActivities(conn, activityIds);
+                applyCancels(conn, cancels, outcomes, deltas, cancelled, freeSeats);
+                applyRegistrations(conn, registers, outcomes, deltas, freeSeats);
+                updateCounts(conn, deltas);
+                if (!deltas.isEmpty()) {
+                    ChangeVersions.bumpInTransaction(conn, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY);
+                }
+                conn.commit();
+                for (long pair : cancelled) {
+                    RegistrationIndex.remove((int) (pair >>> 32), (int) pair);
+                    ParticipationGraph.remove((int) (pair >>> 32), (int) pair);
+                }
+                for (Command command : registers) {
+                    if (outcomes.get(command) == RegistrationOutcome.REGISTERED) {
+                        RegistrationIndex.add(command.studentId, command.activityId);
+                        ParticipationGraph.add(command.studentId, command.activityId);
+                    }
+                }
+                for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                    ActivityDao.adjustCachedParticipantCount(delta.getKey(), delta.getValue());
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Reads, without locking, the activities of the registrations a batch cancels,
+     * so their activity rows can be locked before the registration rows.
+     */
+    private Set<Integer> findCancelledActivities(Connection conn, List<Command> cancels) throws SQLException {
+        Set<Integer> activityIds = new TreeSet<>();
+        if (cancels.isEmpty()) {
+            return activityIds;
+        }
+        Set<Integer> ids = new TreeSet<>();
+        for (Command command : cancels) {
+            ids.add(command.participantId);
+        }
+        String selectSql = "SELECT DISTINCT activity_id FROM activity_participants " +
+                           "WHERE participant_id IN " + InListQuery.placeholders(ids.size());
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            bindAll(stmt, 1, ids);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    activityIds.add(rs.getInt("activity_id"));
+                }
+            }
+        }
+        return activityIds;
+    }
+
+    /**
+     * Locks activity rows in id order and returns the free seats of each
+     * (Integer.MAX_VALUE without a limit). Missing activities are absent.
+     */
+    private Map<Integer, Integer> lockActivities(Connection conn, Set<Integer> activityIds) throws SQLException {
+        Map<Integer, Integer> freeSeats = new HashMap<>();
+        if (activityIds.isEmpty()) {
+            return freeSeats;
+        }
+        String lockSql = "SELECT activity_id, participant_count, max_participants FROM activity " +
+                         "WHERE activity_id IN " + InListQuery.placeholders(activityIds.size()) +
+                         " ORDER BY activity_id FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+            bindAll(stmt, 1, activityIds);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int count = rs.getInt("participant_count");
+                    int max = rs.getInt("max_participants");
+                    freeSeats.put(rs.getInt("activity_id"), rs.wasNull() ? Integer.MAX_VALUE : max - count);
+                }
+            }
+        }
+        return freeSeats;
+    }
+
+    private void applyCancels(Connection conn, List<Command> cancels,
+                              Map<Command, RegistrationOutcome> outcomes,
+                              Map<Integer, Integer> deltas,
+                              List<Long> cancelled,
+                              Map<Integer, Integer> freeSeats) throws SQLException {
+        if (cancels.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = new TreeSet<>();
+        for (Command command : cancels) {
+            ids.add(command.participantId);
+        }
+
+        Map<Integer, Long> pairByParticipant = new HashMap<>();
+        String selectSql = "SELECT participant_id, student_id, activity_id FROM activity_participants " +
+                           "WHERE participant_id IN " + InListQuery.placeholders(ids.size()) + " FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            bindAll(stmt, 1, ids);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pairByParticipant.put(rs.getInt("participant_id"),
+                        pairKey(rs.getInt("student_id"), rs.getInt("activity_id")));
+                }
+            }
+        }
+
+        // A registration moved to another activity since the unlocked read; rare, so its
+        // activity is locked late rather than restarting the batch
+        Set<Integer> late = new TreeSet<>();
+        for (long pair : pairByParticipant.values()) {
+            if (!freeSeats.containsKey((int) pair)) {
+                late.add((int) pair);
+            }
+        }
+        freeSeats.putAll(lockActivities(conn, late));
+
+        List<Integer> toDelete = new ArrayList<>();
+        for (Command command : cancels) {
+            Long pair = pairByParticipant.remove(command.participantId);
+            if (pair == null) {
+                outcomes.put(command, RegistrationOutcome.NOT_FOUND);
+            } else {
+                outcomes.put(command, RegistrationOutcome.CANCELLED);
+                toDelete.add(command.participantId);
+                cancelled.add(pair);
+                deltas.merge((int) (long) pair, -1, Integer::sum);
+            }
+        }
+        if (toDelete.isEmpty()) {
+            return;
+        }
+
+        String deleteSql = "DELETE FROM activity_participants WHERE participant_id IN " +
+                           InListQuery.placeholders(toDelete.size());
+        try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+            bindAll(stmt, 1, toDelete);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void applyRegistrations(Connection conn, List<Command> registers,
+                                    Map<Command, RegistrationOutcome> outcomes,
+                                    Map<Integer, Integer> deltas,
+                                    Map<Integer, Integer> freeSeats) throws SQLException {
+        if (registers.isEmpty()) {
+            return;
+        }
+        Set<Integer> studentIds = new TreeSet<>();
+        Set<Integer> activityIds = new TreeSet<>();
+        for (Command command : registers) {
+            studentIds.add(command.studentId);
+            activityIds.add(command.activityId);
+        }
+
+        // Seats left once this batch's cancels are taken into account
+        Map<Integer, Integer> seatsLeft = new HashMap<>();
+        for (Map.Entry<Integer, Integer> free : freeSeats.entrySet()) {
+            int seats = free.getValue();
+            int delta = deltas.getOrDefault(free.getKey(), 0);
+            seatsLeft.put(free.getKey(), seats == Integer.MAX_VALUE ? seats : Math.max(0, seats - delta));
+        }
+
+        // Existing registrations (cancels in this batch are already deleted)
+        Set<Long> registered = new HashSet<>();
+        String existingSql = "SELECT student_id, activity_id FROM activity_participants " +
+                             "WHERE student_id IN " + InListQuery.placeholders(studentIds.size()) +
+                             " AND activity_id IN " + InListQuery.placeholders(activityIds.size());
+        try (PreparedStatement stmt = conn.prepareStatement(existingSql)) {
+            int next = bindAll(stmt, 1, studentIds);
+            bindAll(stmt, next, activityIds);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    registered.add(pairKey(rs.getInt("student_id"), rs.getInt("activity_id")));
+                }
+            }
+        }
+
+        List<Command> toInsert = new ArrayList<>();
+        for (Command command : registers) {
+            Integer seats = seatsLeft.get(command.activityId);
+            if (seats == null) {
+                outcomes.put(command, RegistrationOutcome.NOT_FOUND);
+            } else if (!registered.add(pairKey(command.studentId, command.activityId))) {
+                outcomes.put(command, RegistrationOutcome.ALREADY_REGISTERED);
+            } else if (seats <= 0) {
+                outcomes.put(command, RegistrationOutcome.FULL);
+            } else {
+                outcomes.put(command, RegistrationOutcome.REGISTERED);
+                seatsLeft.put(command.activityId, seats - 1);
+                deltas.merge(command.activityId, 1, Integer::sum);
+                toInsert.add(command);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        StringBuilder insertSql = new StringBuilder(
+            "INSERT INTO activity_participants (activity_id, student_id, registered_on) VALUES ");
+        for (int i = 0; i < toInsert.size(); i++) {
+            insertSql.append(i == 0 ? "" : ", ").append("(?, ?, CURRENT_TIMESTAMP)");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(insertSql.toString())) {
+            int index = 1;
+            for (Command command : toInsert) {
+                stmt.setInt(index++, command.activityId);
+                stmt.setInt(index++, command.studentId);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Applies the net participant_count change per activity, in activity id order.
+     */
+    private void updateCounts(Connection conn, Map<Integer, Integer> deltas) throws SQLException {
+        String updateSql = "UPDATE activity SET participant_count = GREATEST(participant_count + ?, 0) WHERE activity_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+            boolean any = false;
+            for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                if (delta.getValue() != 0) {
+                    stmt.setInt(1, delta.getValue());
+                    stmt.setInt(2, delta.getKey());
+                    stmt.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    private static int bindAll(PreparedStatement stmt, int start, Iterable<Integer> values) throws SQLException {
+        int index = start;
+        for (int value : values) {
+            stmt.setInt(index++, value);
+        }
+        return index;
+    }
+
+    private static long pairKey(int studentId, int activityId) {
+        return ((long) studentId << 32) | (activityId & 0xffffffffL);
+    }
+
+    private static final class Command {
+        final boolean cancel;
+        final int studentId;
+        final int activityId;
+        final int participantId;
+        final CompletableFuture<RegistrationOutcome> future = new CompletableFuture<>();
+
+        Command(boolean cancel, int studentId, int activityId, int participantId) {
+            this.cancel = cancel;
+            this.studentId = studentId;
+            this.activityId = activityId;
+            this.participantId = participantId;
+        }
+    }
+}
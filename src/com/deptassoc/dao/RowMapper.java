@@ -0,0 +1,12 @@
+package com.deptassoc.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps one ResultSet row to an entity.
+ * Shared by the bulk and streaming query helpers of the DAOs.
+ */
+interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,86 @@
+package com.deptassoc.dao;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a query for the streamAll methods of the DAOs without loading the result into memory.
+ * The statement is forward-only and read-only with a positive fetch size, so with
+ * useCursorFetch enabled on the JDBC URL MySQL serves rows from a server-side cursor
+ * in blocks of db.stream.fetchSize. Rows are mapped lazily as the stream is consumed.
+ *
+ * The connection stays borrowed until the stream is closed, so callers must use
+ * try-with-resources. SQLExceptions raised while iterating surface as UncheckedSQLException.
+ */
+final class StreamingQuery {
+
+    private static final int FETCH_SIZE =
+        Integer.parseInt(DBConnectionManager.getProperty("db.stream.fetchSize", "500"));
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * Opens a lazily mapped stream over the rows of a query.
+     *
+     * @param sql the query
+     * @param mapper maps a row to an entity
+     * @return a stream that releases its statement and connection when closed
+     * @throws SQLException if the query cannot be started
+     */
+    static <T> Stream<T> stream(String sql, RowMapper<T> mapper) throws SQLException {
+        Connection conn = DBConnectionManager.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(FETCH_SIZE);
+            rs = stmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, stmt, conn);
+            throw e;
+        }
+
+        ResultSet cursor = rs;
+        PreparedStatement statement = stmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false)
+            .onClose(() -> closeQuietly(cursor, statement, conn));
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Error closing streamed query resource: " + e.getMessage());
+            }
+        }
+    }
+}
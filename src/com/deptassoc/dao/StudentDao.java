@@ -5,7 +5,10 @@ import com.deptassoc.db.SQLConstants;
 import com.deptassoc.model.Student;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for Student entity.
@@ -24,6 +27,22 @@ public class StudentDao {
         return students;
     }
     
+    /**
+     * Streams all students without loading them into memory.
+     * The stream holds a database connection until closed; use try-with-resources.
+     */
+    public Stream<Student> streamAll() throws SQLException {
+        return StreamingQuery.stream(SQLConstants.FIND_ALL_STUDENTS, this::mapRowToStudent);
+    }
+    
+    /**
+     * Returns the next page of students in id order, starting after the given id.
+     * Pass 0 for the first page and the last returned id for each following page.
+     */
+    public List<Student> findPage(int afterId, int limit) throws SQLException {
+        return KeysetQuery.findPage(SQLConstants.FIND_STUDENTS_PAGE, afterId, limit, this::mapRowToStudent);
+    }
+    
     public Student findById(int id) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.FIND_STUDENT_BY_ID)) {
@@ -37,14 +56,43 @@ public class StudentDao {
         return null;
     }
     
-    public void insert(Student student) throws SQLException {
+    /**
+     * Finds many students at once, using one connection and chunked IN-lists.
+     *
+     * @param ids the IDs to look up
+     * @return Students keyed by ID; IDs with no row are absent
+     */
+    public Map<Integer, Student> findByIds(Collection<Integer> ids) throws SQLException {
+        return InListQuery.findByIds(SQLConstants.FIND_STUDENTS_BY_IDS, "student_id", ids, this::mapRowToStudent);
+    }
+    
+    /**
+     * Inserts a student and sets the ID the database generated on it.
+     *
+     * @return the same student, now carrying its ID
+     */
+    public Student insert(Student student) throws SQLException {
         try (Connection conn = DBConnectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_STUDENT)) {
-            stmt.setString(1, student.getSName());
-            stmt.setString(2, student.getSEmail());
-            stmt.setString(3, student.getPhone());
-            stmt.executeUpdate();
+             PreparedStatement stmt = conn.prepareStatement(SQLConstants.INSERT_STUDENT, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, student);
+            student.setStudentId(GeneratedKeys.executeInsert(stmt));
+            ChangeVersions.bump(conn, ChangeVersions.STUDENT);
         }
+        return student;
+    }
+    
+    /**
+     * Inserts many students in one transaction and sets the generated ID on each.
+     *
+     * @return the generated IDs, in list order
+     */
+    public int[] insertAll(List<Student> students) throws SQLException {
+        int[] ids = GeneratedKeys.insertAll(SQLConstants.INSERT_STUDENT, students, this::bindInsert,
+            null, ChangeVersions.STUDENT);
+        for (int i = 0; i < ids.length; i++) {
+            students.get(i).setStudentId(ids[i]);
+        }
+        return ids;
     }
     
     public void update(Student student) throws SQLException {
@@ -55,6 +103,7 @@ public class StudentDao {
             stmt.setString(3, student.getPhone());
             stmt.setInt(4, student.getStudentId());
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.STUDENT);
         }
     }
     
@@ -63,9 +112,16 @@ public class StudentDao {
              PreparedStatement stmt = conn.prepareStatement(SQLConstants.DELETE_STUDENT)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            ChangeVersions.bump(conn, ChangeVersions.STUDENT);
         }
     }
     
+    private void bindInsert(PreparedStatement stmt, Student student) throws SQLException {
+        stmt.setString(1, student.getSName());
+        stmt.setString(2, student.getSEmail());
+        stmt.setString(3, student.getPhone());
+    }
+    
     private Student mapRowToStudent(ResultSet rs) throws SQLException {
         return new Student(
             rs.getInt("student_id"),
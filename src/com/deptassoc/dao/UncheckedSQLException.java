@@ -0,0 +1,21 @@
+package com.deptassoc.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Carries a SQLException out of a Stream returned by a DAO, where
+ * checked exceptions cannot be thrown. The original exception is the cause.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,281 @@
+package com.deptassoc.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool used by DBConnectionManager.
+ * Borrowed connections are proxies whose close() hands the physical
+ * connection back to the pool instead of tearing it down. Each physical
+ * connection keeps its own StatementCache, so prepares survive across borrows.
+ * Borrow latency is recorded and published over JMX via ConnectionPoolMXBean.
+ */
+public class ConnectionPool implements ConnectionPoolMXBean {
+
+    /** Connections used more recently than this are not re-validated on borrow. */
+    private static final long VALIDATION_SKIP_MS = 500;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // LIFO: recently returned connections are handed out first, so surplus
+    // connections sit at the tail and age out through idle eviction.
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LongAdder acquireTimeouts = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize, long borrowTimeoutMs,
+                          long idleTimeoutMs, long maxLifetimeMs, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                "Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMs, 30_000));
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if the pool is exhausted.
+     *
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection becomes available or a new one cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + borrowTimeoutMs + "ms waiting for a database connection" +
+                    " (pool max size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc)) {
+                    break;
+                }
+                destroy(pc);
+            }
+            if (pc == null) {
+                pc = create();
+            }
+            Connection leased = pc.lease();
+            acquireLatency.record((System.nanoTime() - start) / 1000);
+            return leased;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Called by a leased connection's close(). Resets session state and
+     * puts the physical connection back on the idle stack.
+     */
+    void release(PooledConnection pc) {
+        try {
+            if (closed || isExpired(pc) || pc.getPhysical().isClosed()) {
+                destroy(pc);
+                return;
+            }
+            pc.resetState();
+            pc.touch();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            // Connection is in an unknown state; drop it rather than hand it out again
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes all idle connections and rejects further borrows.
+     * Connections still leased are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return maxSize - permits.availablePermits();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return acquireLatency.getCount();
+    }
+
+    @Override
+    public long getAcquireTimeouts() {
+        return acquireTimeouts.sum();
+    }
+
+    @Override
+    public double getAcquireMeanMicros() {
+        return acquireLatency.getMean();
+    }
+
+    @Override
+    public long getAcquireP99Micros() {
+        return acquireLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getAcquireMaxMicros() {
+        return acquireLatency.getMax();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return StatementCache.getHitCount();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return StatementCache.getMissCount();
+    }
+
+    @Override
+    public double getStatementCacheHitRatio() {
+        return StatementCache.getHitRatio();
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        return new PooledConnection(this, physical, statementCacheSize);
+    }
+
+    private void destroy(PooledConnection pc) {
+        totalConnections.decrementAndGet();
+        try {
+            pc.closePhysical();
+        } catch (SQLException e) {
+            // Already broken; nothing more to do
+        }
+    }
+
+    private boolean isExpired(PooledConnection pc) {
+        return maxLifetimeMs > 0 && System.currentTimeMillis() - pc.getCreatedAt() > maxLifetimeMs;
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (isExpired(pc)) {
+            return false;
+        }
+        if (System.currentTimeMillis() - pc.getLastUsed() < VALIDATION_SKIP_MS) {
+            return true;
+        }
+        try {
+            return pc.getPhysical().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Evicts idle and expired connections down to the minimum size,
+     * then tops the pool back up to the minimum.
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            List<PooledConnection> snapshot = new ArrayList<>(idle);
+            for (PooledConnection pc : snapshot) {
+                boolean idleTooLong = idleTimeoutMs > 0 && now - pc.getLastUsed() > idleTimeoutMs
+                    && totalConnections.get() > minSize;
+                if ((idleTooLong || isExpired(pc)) && idle.remove(pc)) {
+                    destroy(pc);
+                }
+            }
+
+            while (!closed && totalConnections.get() < minSize && permits.tryAcquire()) {
+                try {
+                    PooledConnection pc = create();
+                    pc.touch();
+                    idle.offerLast(pc);
+                } finally {
+                    permits.release();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not open a connection: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+}
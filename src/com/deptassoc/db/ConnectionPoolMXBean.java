@@ -0,0 +1,20 @@
+package com.deptassoc.db;
+
+/**
+ * JMX view of the connection pool and its statement caches.
+ * Latencies are in microseconds.
+ */
+public interface ConnectionPoolMXBean {
+    int getTotalConnections();
+    int getIdleConnections();
+    int getActiveConnections();
+    int getMaxSize();
+    long getAcquireCount();
+    long getAcquireTimeouts();
+    double getAcquireMeanMicros();
+    long getAcquireP99Micros();
+    long getAcquireMaxMicros();
+    long getStatementCacheHits();
+    long getStatementCacheMisses();
+    double getStatementCacheHitRatio();
+}
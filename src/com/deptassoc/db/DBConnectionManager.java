@@ -1,7 +1,6 @@
 package com.deptassoc.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.io.InputStream;
@@ -10,6 +9,7 @@ import java.io.IOException;
 /**
  * Manages database connections using configuration from config.properties.
  * Loads MySQL JDBC driver and provides connection pooling via getConnection().
+ * Connections come from a bounded ConnectionPool sized by the db.pool.* properties.
  */
 public class DBConnectionManager {
     
@@ -19,9 +19,21 @@ public class DBConnectionManager {
     private static String DB_USER;
     private static String DB_PASSWORD;
     
+    private static int POOL_MIN_SIZE;
+    private static int POOL_MAX_SIZE;
+    private static long POOL_BORROW_TIMEOUT_MS;
+    private static long POOL_IDLE_TIMEOUT_MS;
+    private static long POOL_MAX_LIFETIME_MS;
+    private static int POOL_VALIDATION_TIMEOUT_SEC;
+    private static int STATEMENT_CACHE_SIZE;
+    
+    private static ConnectionPool pool;
+    private static Properties config;
+    
     static {
         loadConfiguration();
         loadDriver();
+        initPool();
     }
     
     /**
@@ -35,12 +47,28 @@ public class DBConnectionManager {
                 throw new IOException("config.properties not found in classpath");
             }
             props.load(input);
+            config = props;
             
             DB_HOST = props.getProperty("db.host", "localhost");
             DB_PORT = props.getProperty("db.port", "3306");
             DB_NAME = props.getProperty("db.name", "department_association_v2");
             DB_USER = props.getProperty("db.user", "root");
             DB_PASSWORD = props.getProperty("db.password", "");
+            
+            POOL_MIN_SIZE = Integer.parseInt(props.getProperty("db.pool.minSize", "2"));
+            POOL_MAX_SIZE = Integer.parseInt(props.getProperty("db.pool.maxSize", "10"));
+            POOL_BORROW_TIMEOUT_MS = Long.parseLong(props.getProperty("db.pool.borrowTimeoutMs", "30000"));
+            POOL_IDLE_TIMEOUT_MS = Long.parseLong(props.getProperty("db.pool.idleTimeoutMs", "600000"));
+            POOL_MAX_LIFETIME_MS = Long.parseLong(props.getProperty("db.pool.maxLifetimeMs", "1800000"));
+            POOL_VALIDATION_TIMEOUT_SEC = Integer.parseInt(props.getProperty("db.pool.validationTimeoutSec", "5"));
+            STATEMENT_CACHE_SIZE = Integer.parseInt(props.getProperty("db.pool.statementCacheSize", "64"));
+            
+            SlowQueryLog.configure(
+                Long.parseLong(props.getProperty("db.slowQuery.thresholdMs", "0")),
+                props.getProperty("db.slowQuery.file", "slow-query.%g.log"),
+                Integer.parseInt(props.getProperty("db.slowQuery.maxBytes", "10485760")),
+                Integer.parseInt(props.getProperty("db.slowQuery.fileCount", "5")),
+                Boolean.parseBoolean(props.getProperty("db.slowQuery.explain", "true")));
         } catch (IOException e) {
             System.err.println("Failed to load config.properties: " + e.getMessage());
             throw new RuntimeException("Configuration loading failed", e);
@@ -61,16 +89,53 @@ public class DBConnectionManager {
     }
     
     /**
-     * Gets a new database connection with UTC timezone and SSL disabled.
-     * 
-     * @return a JDBC Connection to the database
-     * @throws SQLException if connection fails
+     * Creates the connection pool, publishes it over JMX and registers a shutdown hook to close it.
      */
-    public static Connection getConnection() throws SQLException {
+    private static void initPool() {
         String url = String.format(
-            "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
+            "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true&useCursorFetch=true",
             DB_HOST, DB_PORT, DB_NAME
         );
-        return DriverManager.getConnection(url, DB_USER, DB_PASSWORD);
+        pool = new ConnectionPool(url, DB_USER, DB_PASSWORD,
+            POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_BORROW_TIMEOUT_MS,
+            POOL_IDLE_TIMEOUT_MS, POOL_MAX_LIFETIME_MS, POOL_VALIDATION_TIMEOUT_SEC,
+            STATEMENT_CACHE_SIZE);
+        DbMetrics.registerPool(pool);
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "db-pool-shutdown"));
+    }
+    
+    /**
+     * Borrows a pooled database connection with UTC timezone and SSL disabled.
+     * Closing the returned connection gives it back to the pool.
+     * 
+     * @return a JDBC Connection to the database
+     * @throws SQLException if connection fails or the pool is exhausted past the borrow timeout
+     */
+    public static Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+    
+    /**
+     * Returns a value from config.properties, for settings owned by other layers.
+     * 
+     * @param key the property name
+     * @param defaultValue returned when the property is not set
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return config.getProperty(key, defaultValue);
+    }
+    
+    /**
+     * Returns the underlying pool (for monitoring).
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * Closes all pooled connections.
+     */
+    public static void shutdown() {
+        pool.shutdown();
     }
 }
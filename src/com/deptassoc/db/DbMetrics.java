@@ -0,0 +1,260 @@
+package com.deptassoc.db;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of per-statement query metrics, published as JMX MBeans under
+ * the "com.deptassoc" domain:
+ *   com.deptassoc:type=ConnectionPool
+ *   com.deptassoc:type=Query,name=&lt;label&gt;
+ * Other components (e.g. the DAO caches) publish their own MBeans through register().
+ *
+ * Statements are keyed by normalized SQL: an IN-list of placeholders becomes "(?...)"
+ * and repeated VALUES tuples collapse to one, so IN-list and multi-row insert sizes
+ * share a bucket. At most MAX_STATEMENTS buckets exist; later statements are counted
+ * in one "other" bucket, so ad hoc SQL cannot register MBeans without bound.
+ */
+public class DbMetrics {
+
+    public static final String JMX_DOMAIN = "com.deptassoc";
+
+    /** Most distinct normalized statements tracked before the overflow bucket is used. */
+    static final int MAX_STATEMENTS = 256;
+    /** Most raw SQL strings remembered to skip normalizing on later executions. */
+    private static final int MAX_RAW_SQL = 1024;
+    private static final String OVERFLOW_KEY = "(other statements)";
+
+    // Normalized SQL -> stats; creation is synchronized on the map so the cap holds
+    private static final Map<String, QueryStats> STATS_BY_SQL = new ConcurrentHashMap<>();
+    private static final Map<String, QueryStats> STATS_BY_RAW_SQL = new ConcurrentHashMap<>();
+    private static final Set<String> USED_LABELS = new HashSet<>();
+    private static volatile Map<String, String> constantNames;
+
+    private DbMetrics() {
+    }
+
+    /**
+     * Returns the stats bucket for a SQL string, creating and registering it on first use.
+     */
+    static QueryStats statsFor(String sql) {
+        QueryStats stats = STATS_BY_RAW_SQL.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        stats = statsForNormalized(normalize(sql));
+        if (STATS_BY_RAW_SQL.size() < MAX_RAW_SQL) {
+            STATS_BY_RAW_SQL.put(sql, stats);
+        }
+        return stats;
+    }
+
+    private static QueryStats statsForNormalized(String key) {
+        QueryStats stats = STATS_BY_SQL.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        synchronized (STATS_BY_SQL) {
+            stats = STATS_BY_SQL.get(key);
+            if (stats == null) {
+                String label;
+                if (STATS_BY_SQL.size() >= MAX_STATEMENTS) {
+                    key = OVERFLOW_KEY;
+                    stats = STATS_BY_SQL.get(key);
+                    if (stats != null) {
+                        return stats;
+                    }
+                    label = uniqueLabel("other");
+                } else {
+                    label = uniqueLabel(resolveLabel(key));
+                }
+                stats = new QueryStats(label, key);
+                register(stats, "type=Query,name=" + ObjectName.quote(label));
+                STATS_BY_SQL.put(key, stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Returns the SQL with every parenthesized group of only placeholders replaced by
+     * "(?...)" and every group directly repeated after a comma (multi-row VALUES)
+     * dropped, e.g. "IN (?, ?, ?)" becomes "IN (?...)" and
+     * "VALUES (?, ?, CURRENT_TIMESTAMP), (?, ?, CURRENT_TIMESTAMP)" becomes
+     * "VALUES (?, ?, CURRENT_TIMESTAMP)".
+     */
+    static String normalize(String sql) {
+        if (sql.indexOf('(') < 0) {
+            return sql;
+        }
+        StringBuilder out = null;
+        int n = sql.length();
+        int copied = 0;
+        int i = 0;
+        while (i < n) {
+            int end = sql.charAt(i) == '(' ? groupEnd(sql, i) : -1;
+            if (end < 0) {
+                i++;
+                continue;
+            }
+            String group = sql.substring(i, end);
+            boolean placeholders = isPlaceholderGroup(group);
+            int next = end;
+            while (true) {
+                int comma = skipSpaces(sql, next);
+                if (comma >= n || sql.charAt(comma) != ',') {
+                    break;
+                }
+                int start = skipSpaces(sql, comma + 1);
+                if (!sql.startsWith(group, start)) {
+                    break;
+                }
+                next = start + group.length();
+            }
+            if (placeholders || next != end) {
+                if (out == null) {
+                    out = new StringBuilder(n);
+                }
+                out.append(sql, copied, i).append(placeholders ? "(?...)" : group);
+                copied = next;
+            }
+            i = next;
+        }
+        return out == null ? sql : out.append(sql, copied, n).toString();
+    }
+
+    /**
+     * Returns the index after the ')' closing a group without nested parentheses, or -1.
+     */
+    private static int groupEnd(String sql, int open) {
+        for (int i = open + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == ')') {
+                return i + 1;
+            }
+            if (c == '(') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPlaceholderGroup(String group) {
+        boolean any = false;
+        for (int i = 1; i < group.length() - 1; i++) {
+            char c = group.charAt(i);
+            if (c == '?') {
+                any = true;
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return any;
+    }
+
+    private static int skipSpaces(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Publishes the pool MBean.
+     */
+    static void registerPool(ConnectionPool pool) {
+        register(pool, "type=ConnectionPool");
+    }
+
+    /**
+     * Returns a snapshot of all statement stats, slowest total time first.
+     */
+    public static List<QueryStats> getQueryStats() {
+        List<QueryStats> list = new ArrayList<>(STATS_BY_SQL.values());
+        list.sort(Comparator.comparingLong(QueryStats::getTotalMicros).reversed());
+        return list;
+    }
+
+    /**
+     * Publishes an MBean under the com.deptassoc domain, e.g. "type=EntityCache,name=Event".
+     * Failures are logged; metrics are never allowed to break the caller.
+     */
+    public static void register(Object mbean, String keyProperties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":" + keyProperties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (JMException | SecurityException e) {
+            System.err.println("Could not register MBean " + keyProperties + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Names a statement after its SQLConstants field (or the longest field it
+     * extends, e.g. an IN-list query), or failing that the com.deptassoc class
+     * and method that prepared it.
+     */
+    private static String resolveLabel(String sql) {
+        Map<String, String> constants = getConstantNames();
+        String constant = constants.get(sql);
+        if (constant != null) {
+            return constant;
+        }
+        String prefix = null;
+        for (String value : constants.keySet()) {
+            if (sql.startsWith(value) && (prefix == null || value.length() > prefix.length())) {
+                prefix = value;
+            }
+        }
+        if (prefix != null) {
+            return constants.get(prefix);
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith("com.deptassoc.")
+                && !f.getClassName().startsWith("com.deptassoc.db."))
+            .findFirst()
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                + "." + f.getMethodName())
+            .orElse("sql"));
+    }
+
+    private static synchronized String uniqueLabel(String base) {
+        String label = base;
+        for (int n = 2; !USED_LABELS.add(label); n++) {
+            label = base + "#" + n;
+        }
+        return label;
+    }
+
+    private static Map<String, String> getConstantNames() {
+        Map<String, String> names = constantNames;
+        if (names == null) {
+            names = new HashMap<>();
+            for (Field field : SQLConstants.class.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                    try {
+                        names.put(normalize((String) field.get(null)), field.getName());
+                    } catch (IllegalAccessException e) {
+                        // Public constants; not expected
+                    }
+                }
+            }
+            constantNames = names;
+        }
+        return names;
+    }
+}
@@ -0,0 +1,133 @@
+package com.deptassoc.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wraps statements handed out by pooled connections so every execute is timed
+ * into DbMetrics and every row read through the ResultSet is counted.
+ * Executions over the SlowQueryLog threshold are reported with their bind values
+ * once the row count is known (when the ResultSet is closed, for queries).
+ */
+final class InstrumentedStatement {
+
+    private InstrumentedStatement() {
+    }
+
+    /**
+     * Wraps a Statement, PreparedStatement or CallableStatement.
+     *
+     * @param statement the statement to wrap
+     * @param iface the JDBC interface the caller asked for
+     * @param sql the prepared SQL, or null for a plain Statement (labelled at execute time)
+     */
+    static <T extends Statement> T wrap(T statement, Class<T> iface, String sql) {
+        QueryStats prepared = sql != null ? DbMetrics.statsFor(sql) : null;
+        Map<Integer, Object> binds = new TreeMap<>();
+        return iface.cast(Proxy.newProxyInstance(
+            InstrumentedStatement.class.getClassLoader(),
+            new Class<?>[] { iface },
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (!name.startsWith("execute")) {
+                    captureBind(binds, name, args);
+                    return invoke(statement, method, args);
+                }
+                QueryStats stats = prepared;
+                if (stats == null) {
+                    if (args == null || args.length == 0 || !(args[0] instanceof String)) {
+                        return invoke(statement, method, args);
+                    }
+                    stats = DbMetrics.statsFor((String) args[0]);
+                }
+                long start = System.nanoTime();
+                long elapsed;
+                Object result;
+                try {
+                    result = invoke(statement, method, args);
+                } catch (SQLException e) {
+                    stats.recordError();
+                    throw e;
+                } finally {
+                    elapsed = System.nanoTime() - start;
+                    stats.recordExecution(elapsed);
+                }
+                boolean slow = SlowQueryLog.isSlow(elapsed);
+                Map<Integer, Object> bindSnapshot = slow
+                    ? Collections.unmodifiableMap(new TreeMap<>(binds)) : null;
+                if (result instanceof ResultSet) {
+                    return countRows((ResultSet) result, stats, slow, bindSnapshot, elapsed);
+                }
+                long rows = affectedRows(result);
+                stats.addRows(rows);
+                if (slow) {
+                    SlowQueryLog.record(stats.getLabel(), stats.getSql(), bindSnapshot, elapsed, rows);
+                }
+                return result;
+            }));
+    }
+
+    /**
+     * Remembers setXxx(index, value, ...) calls so slow queries can be logged with their binds.
+     */
+    private static void captureBind(Map<Integer, Object> binds, String name, Object[] args) {
+        if ("clearParameters".equals(name)) {
+            binds.clear();
+        } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            binds.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer) {
+            return Math.max(0, (Integer) result);
+        }
+        if (result instanceof Long) {
+            return Math.max(0, (Long) result);
+        }
+        if (result instanceof int[]) {
+            long total = 0;
+            for (int count : (int[]) result) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private static ResultSet countRows(ResultSet rs, QueryStats stats, boolean slow,
+                                       Map<Integer, Object> binds, long elapsed) {
+        long[] rows = { 0 };
+        boolean[] closed = { false };
+        return (ResultSet) Proxy.newProxyInstance(
+            InstrumentedStatement.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                Object result = invoke(rs, method, args);
+                String name = method.getName();
+                if (Boolean.TRUE.equals(result) && "next".equals(name)) {
+                    stats.addRows(1);
+                    rows[0]++;
+                } else if ("close".equals(name) && slow && !closed[0]) {
+                    closed[0] = true;
+                    SlowQueryLog.record(stats.getLabel(), stats.getSql(), binds, elapsed, rows[0]);
+                }
+                return result;
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
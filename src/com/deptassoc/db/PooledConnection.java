@@ -0,0 +1,144 @@
+package com.deptassoc.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A physical connection owned by ConnectionPool.
+ * Each borrow hands out a fresh proxy (a lease) so that a stale reference
+ * from an earlier borrower can never close or use a later borrower's connection.
+ */
+class PooledConnection {
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final StatementCache statementCache;
+    private final long createdAt;
+    private volatile long lastUsed;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(physical, statementCacheSize) : null;
+        this.createdAt = System.currentTimeMillis();
+        this.lastUsed = createdAt;
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * Closes cached statements and the physical connection.
+     */
+    void closePhysical() throws SQLException {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        physical.close();
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates the proxy handed to a borrower.
+     */
+    Connection lease() {
+        return (Connection) Proxy.newProxyInstance(
+            PooledConnection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new LeaseHandler());
+    }
+
+    /**
+     * Undoes session changes a borrower may have left behind
+     * (open transaction, auto-commit off, read-only, statements left open) before reuse.
+     */
+    void resetState() throws SQLException {
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        if (physical.isReadOnly()) {
+            physical.setReadOnly(false);
+        }
+        physical.clearWarnings();
+        if (statementCache != null) {
+            statementCache.reclaim();
+        }
+    }
+
+    private class LeaseHandler implements InvocationHandler {
+
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection is closed");
+            }
+            switch (method.getName()) {
+                case "prepareStatement":
+                    // prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached
+                    boolean cacheable = args.length == 1
+                        || (args.length == 2 && args[1] instanceof Integer);
+                    PreparedStatement ps = statementCache != null && cacheable
+                        ? statementCache.prepare((String) args[0],
+                            args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS, (Connection) proxy)
+                        : (PreparedStatement) invokePhysical(method, args);
+                    return InstrumentedStatement.wrap(ps, PreparedStatement.class, (String) args[0]);
+                case "prepareCall":
+                    return InstrumentedStatement.wrap(
+                        (CallableStatement) invokePhysical(method, args), CallableStatement.class, (String) args[0]);
+                case "createStatement":
+                    return InstrumentedStatement.wrap(
+                        (Statement) invokePhysical(method, args), Statement.class, null);
+                default:
+                    return invokePhysical(method, args);
+            }
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
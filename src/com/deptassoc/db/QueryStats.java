@@ -0,0 +1,67 @@
+package com.deptassoc.db;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution counters and latency histogram for one SQL statement.
+ * The label is the SQLConstants field name when the SQL comes from there,
+ * otherwise the DAO method that prepared it.
+ */
+public class QueryStats implements QueryStatsMXBean {
+
+    private final String label;
+    private final String sql;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    QueryStats(String label, String sql) {
+        this.label = label;
+        this.sql = sql;
+    }
+
+    void recordExecution(long nanos) {
+        latency.record(nanos / 1000);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void addRows(long count) {
+        rows.add(count);
+    }
+
+    @Override
+    public String getLabel() { return label; }
+
+    @Override
+    public String getSql() { return sql; }
+
+    @Override
+    public long getExecutions() { return latency.getCount(); }
+
+    @Override
+    public long getErrors() { return errors.sum(); }
+
+    @Override
+    public long getRows() { return rows.sum(); }
+
+    @Override
+    public double getMeanMicros() { return latency.getMean(); }
+
+    @Override
+    public long getP50Micros() { return latency.getPercentile(50); }
+
+    @Override
+    public long getP95Micros() { return latency.getPercentile(95); }
+
+    @Override
+    public long getP99Micros() { return latency.getPercentile(99); }
+
+    @Override
+    public long getMaxMicros() { return latency.getMax(); }
+
+    @Override
+    public long getTotalMicros() { return latency.getTotal(); }
+}
@@ -0,0 +1,19 @@
+package com.deptassoc.db;
+
+/**
+ * JMX view of the timings recorded for one SQL statement.
+ * Latencies are in microseconds.
+ */
+public interface QueryStatsMXBean {
+    String getLabel();
+    String getSql();
+    long getExecutions();
+    long getErrors();
+    long getRows();
+    double getMeanMicros();
+    long getP50Micros();
+    long getP95Micros();
+    long getP99Micros();
+    long getMaxMicros();
+    long getTotalMicros();
+}
@@ -8,6 +8,8 @@ public class SQLConstants {
     // ASSOCIATION queries
     public static final String FIND_ALL_ASSOCIATIONS = 
         "SELECT assoc_id, assoc_name, establishment_year, department_id, description FROM association";
+    public static final String FIND_ASSOCIATIONS_PAGE = 
+        "SELECT assoc_id, assoc_name, establishment_year, department_id, description FROM association WHERE assoc_id > ? ORDER BY assoc_id LIMIT ?";
     public static final String FIND_ASSOCIATION_BY_ID = 
         "SELECT assoc_id, assoc_name, establishment_year, department_id, description FROM association WHERE assoc_id = ?";
     public static final String INSERT_ASSOCIATION = 
@@ -16,10 +18,15 @@ public class SQLConstants {
         "UPDATE association SET assoc_name = ?, establishment_year = ?, department_id = ?, description = ? WHERE assoc_id = ?";
     public static final String DELETE_ASSOCIATION = 
         "DELETE FROM association WHERE assoc_id = ?";
+    // Followed by an IN-list such as (?, ?, ?)
+    public static final String FIND_ASSOCIATIONS_BY_IDS = 
+        "SELECT assoc_id, assoc_name, establishment_year, department_id, description FROM association WHERE assoc_id IN ";
     
     // FACULTY queries
     public static final String FIND_ALL_FACULTY = 
         "SELECT faculty_id, f_name, f_email, f_phone, designation FROM faculty";
+    public static final String FIND_FACULTY_PAGE = 
+        "SELECT faculty_id, f_name, f_email, f_phone, designation FROM faculty WHERE faculty_id > ? ORDER BY faculty_id LIMIT ?";
     public static final String FIND_FACULTY_BY_ID = 
         "SELECT faculty_id, f_name, f_email, f_phone, designation FROM faculty WHERE faculty_id = ?";
     public static final String INSERT_FACULTY = 
@@ -28,10 +35,15 @@ public class SQLConstants {
         "UPDATE faculty SET f_name = ?, f_email = ?, f_phone = ?, designation = ? WHERE faculty_id = ?";
     public static final String DELETE_FACULTY = 
         "DELETE FROM faculty WHERE faculty_id = ?";
+    // Followed by an IN-list such as (?, ?, ?)
+    public static final String FIND_FACULTY_BY_IDS = 
+        "SELECT faculty_id, f_name, f_email, f_phone, designation FROM faculty WHERE faculty_id IN ";
     
     // STUDENT queries
     public static final String FIND_ALL_STUDENTS = 
         "SELECT student_id, s_name, s_email, phone FROM student";
+    public static final String FIND_STUDENTS_PAGE = 
+        "SELECT student_id, s_name, s_email, phone FROM student WHERE student_id > ? ORDER BY student_id LIMIT ?";
     public static final String FIND_STUDENT_BY_ID = 
         "SELECT student_id, s_name, s_email, phone FROM student WHERE student_id = ?";
     public static final String INSERT_STUDENT = 
@@ -40,10 +52,15 @@ public class SQLConstants {
         "UPDATE student SET s_name = ?, s_email = ?, phone = ? WHERE student_id = ?";
     public static final String DELETE_STUDENT = 
         "DELETE FROM student WHERE student_id = ?";
+    // Followed by an IN-list such as (?, ?, ?)
+    public static final String FIND_STUDENTS_BY_IDS = 
+        "SELECT student_id, s_name, s_email, phone FROM student WHERE student_id IN ";
     
     // EVENT queries
     public static final String FIND_ALL_EVENTS = 
         "SELECT event_id, assoc_id, event_name, event_date, venue, description, participant_count FROM event";
+    public static final String FIND_EVENTS_PAGE = 
+        "SELECT event_id, assoc_id, event_name, event_date, venue, description, participant_count FROM event WHERE event_id > ? ORDER BY event_id LIMIT ?";
     public static final String FIND_EVENT_BY_ID = 
         "SELECT event_id, assoc_id, event_name, event_date, venue, description, participant_count FROM event WHERE event_id = ?";
     public static final String FIND_EVENTS_BY_ASSOCIATION = 
@@ -54,24 +71,34 @@ public class SQLConstants {
         "UPDATE event SET assoc_id = ?, event_name = ?, event_date = ?, venue = ?, description = ?, participant_count = ? WHERE event_id = ?";
     public static final String DELETE_EVENT = 
         "DELETE FROM event WHERE event_id = ?";
+    // Followed by an IN-list such as (?, ?, ?)
+    public static final String FIND_EVENTS_BY_IDS = 
+        "SELECT event_id, assoc_id, event_name, event_date, venue, description, participant_count FROM event WHERE event_id IN ";
     
     // ACTIVITY queries
     public static final String FIND_ALL_ACTIVITIES = 
-        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count FROM activity";
+        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count, max_participants FROM activity";
+    public static final String FIND_ACTIVITIES_PAGE = 
+        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count, max_participants FROM activity WHERE activity_id > ? ORDER BY activity_id LIMIT ?";
     public static final String FIND_ACTIVITY_BY_ID = 
-        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count FROM activity WHERE activity_id = ?";
+        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count, max_participants FROM activity WHERE activity_id = ?";
     public static final String FIND_ACTIVITIES_BY_EVENT = 
-        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count FROM activity WHERE event_id = ?";
+        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count, max_participants FROM activity WHERE event_id = ?";
     public static final String INSERT_ACTIVITY = 
-        "INSERT INTO activity (event_id, activity_name, description, start_time, end_time, participant_count) VALUES (?, ?, ?, ?, ?, ?)";
+        "INSERT INTO activity (event_id, activity_name, description, start_time, end_time, participant_count, max_participants) VALUES (?, ?, ?, ?, ?, ?, ?)";
     public static final String UPDATE_ACTIVITY = 
-        "UPDATE activity SET event_id = ?, activity_name = ?, description = ?, start_time = ?, end_time = ?, participant_count = ? WHERE activity_id = ?";
+        "UPDATE activity SET event_id = ?, activity_name = ?, description = ?, start_time = ?, end_time = ?, participant_count = ?, max_participants = ? WHERE activity_id = ?";
     public static final String DELETE_ACTIVITY = 
         "DELETE FROM activity WHERE activity_id = ?";
+    // Followed by an IN-list such as (?, ?, ?)
+    public static final String FIND_ACTIVITIES_BY_IDS = 
+        "SELECT activity_id, event_id, activity_name, description, start_time, end_time, participant_count, max_participants FROM activity WHERE activity_id IN ";
     
     // ASSOCIATION_MEMBERS queries
     public static final String FIND_ALL_ASSOCIATION_MEMBERS = 
         "SELECT member_id, assoc_id, student_id, role, joined_date FROM association_members";
+    public static final String FIND_ASSOCIATION_MEMBERS_PAGE = 
+        "SELECT member_id, assoc_id, student_id, role, joined_date FROM association_members WHERE member_id > ? ORDER BY member_id LIMIT ?";
     public static final String FIND_ASSOCIATION_MEMBER_BY_ID = 
         "SELECT member_id, assoc_id, student_id, role, joined_date FROM association_members WHERE member_id = ?";
     public static final String FIND_MEMBERS_BY_ASSOCIATION = 
@@ -82,10 +109,15 @@ public class SQLConstants {
         "UPDATE association_members SET assoc_id = ?, student_id = ?, role = ?, joined_date = ? WHERE member_id = ?";
     public static final String DELETE_ASSOCIATION_MEMBER = 
         "DELETE FROM association_members WHERE member_id = ?";
+    public static final String FIND_MEMBER_REPORT_BY_ASSOCIATION = 
+        "SELECT am.member_id, am.student_id, s.s_name, am.role, am.joined_date FROM association_members am " +
+        "JOIN student s ON am.student_id = s.student_id WHERE am.assoc_id = ? ORDER BY am.member_id";
     
     // ASSOCIATION_FACULTY_ADVISERS queries
     public static final String FIND_ALL_ASSOCIATION_FACULTY_ADVISERS = 
         "SELECT adviser_id, assoc_id, faculty_id, role FROM association_faculty_advisers";
+    public static final String FIND_ASSOCIATION_FACULTY_ADVISERS_PAGE = 
+        "SELECT adviser_id, assoc_id, faculty_id, role FROM association_faculty_advisers WHERE adviser_id > ? ORDER BY adviser_id LIMIT ?";
     public static final String FIND_ASSOCIATION_FACULTY_ADVISER_BY_ID = 
         "SELECT adviser_id, assoc_id, faculty_id, role FROM association_faculty_advisers WHERE adviser_id = ?";
     public static final String FIND_ADVISERS_BY_ASSOCIATION = 
@@ -100,6 +132,8 @@ public class SQLConstants {
     // ACTIVITY_PARTICIPANTS queries
     public static final String FIND_ALL_ACTIVITY_PARTICIPANTS = 
         "SELECT participant_id, activity_id, student_id, registered_on FROM activity_participants";
+    public static final String FIND_ACTIVITY_PARTICIPANTS_PAGE = 
+        "SELECT participant_id, activity_id, student_id, registered_on FROM activity_participants WHERE participant_id > ? ORDER BY participant_id LIMIT ?";
     public static final String FIND_ACTIVITY_PARTICIPANT_BY_ID = 
         "SELECT participant_id, activity_id, student_id, registered_on FROM activity_participants WHERE participant_id = ?";
     public static final String FIND_PARTICIPANTS_BY_ACTIVITY = 
@@ -110,10 +144,15 @@ public class SQLConstants {
         "UPDATE activity_participants SET activity_id = ?, student_id = ?, registered_on = ? WHERE participant_id = ?";
     public static final String DELETE_ACTIVITY_PARTICIPANT = 
         "DELETE FROM activity_participants WHERE participant_id = ?";
+    public static final String FIND_PARTICIPANT_REPORT_BY_ACTIVITY = 
+        "SELECT s.student_id, s.s_name, s.s_email, s.phone, ap.registered_on FROM activity_participants ap " +
+        "JOIN student s ON ap.student_id = s.student_id WHERE ap.activity_id = ? ORDER BY ap.participant_id";
     
     // ACTIVITY_WINNERS queries
     public static final String FIND_ALL_ACTIVITY_WINNERS = 
         "SELECT winner_id, activity_id, student_id, position FROM activity_winners";
+    public static final String FIND_ACTIVITY_WINNERS_PAGE = 
+        "SELECT winner_id, activity_id, student_id, position FROM activity_winners WHERE winner_id > ? ORDER BY winner_id LIMIT ?";
     public static final String FIND_ACTIVITY_WINNER_BY_ID = 
         "SELECT winner_id, activity_id, student_id, position FROM activity_winners WHERE winner_id = ?";
     public static final String FIND_WINNERS_BY_ACTIVITY = 
@@ -124,4 +163,14 @@ public class SQLConstants {
         "UPDATE activity_winners SET activity_id = ?, student_id = ?, position = ? WHERE winner_id = ?";
     public static final String DELETE_ACTIVITY_WINNER = 
         "DELETE FROM activity_winners WHERE winner_id = ?";
+    public static final String FIND_WINNER_REPORT_BY_ACTIVITY = 
+        "SELECT aw.winner_id, aw.student_id, s.s_name, aw.position FROM activity_winners aw " +
+        "JOIN student s ON aw.student_id = s.student_id WHERE aw.activity_id = ? ORDER BY aw.position";
+    
+    // TABLE_VERSIONS queries (see schema-change-versions.sql)
+    public static final String FIND_TABLE_VERSIONS = 
+        "SELECT table_name, version FROM table_versions";
+    // Followed by an IN-list such as (?, ?)
+    public static final String BUMP_TABLE_VERSIONS = 
+        "UPDATE table_versions SET version = version + 1 WHERE table_name IN ";
 }
@@ -0,0 +1,151 @@
+package com.deptassoc.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Writes statements slower than a configurable threshold to a rotating log file,
+ * together with their bind values, duration, row count and MySQL EXPLAIN output.
+ * EXPLAIN runs on a background thread using a separate pooled connection, so the
+ * slow caller is not delayed any further.
+ *
+ * Configured from config.properties:
+ *   db.slowQuery.thresholdMs  (0 or negative disables the log)
+ *   db.slowQuery.file         (java.util.logging pattern, %g is the rotation number)
+ *   db.slowQuery.maxBytes, db.slowQuery.fileCount, db.slowQuery.explain
+ */
+public class SlowQueryLog {
+
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private static volatile long thresholdNanos = -1;
+    private static volatile boolean explainEnabled;
+    private static Logger logger;
+    private static ThreadPoolExecutor writer;
+
+    private SlowQueryLog() {
+    }
+
+    /**
+     * Enables the log. Called once by DBConnectionManager after loading configuration.
+     */
+    static synchronized void configure(long thresholdMs, String filePattern, int maxBytes,
+                                       int fileCount, boolean explain) {
+        if (thresholdMs <= 0 || logger != null) {
+            return;
+        }
+        try {
+            FileHandler handler = new FileHandler(filePattern, maxBytes, fileCount, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + System.lineSeparator();
+                }
+            });
+            Logger log = Logger.getLogger("com.deptassoc.db.slowquery");
+            log.setUseParentHandlers(false);
+            log.addHandler(handler);
+            log.setLevel(Level.INFO);
+            logger = log;
+        } catch (IOException e) {
+            System.err.println("Slow query log disabled; cannot open " + filePattern + ": " + e.getMessage());
+            return;
+        }
+
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread t = new Thread(r, "slow-query-log");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+        explainEnabled = explain;
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    static boolean isSlow(long nanos) {
+        long threshold = thresholdNanos;
+        return threshold > 0 && nanos >= threshold;
+    }
+
+    /**
+     * Queues a slow statement for logging.
+     *
+     * @param label the metrics label of the statement
+     * @param sql the SQL text
+     * @param binds bind values by parameter index (may be empty)
+     * @param nanos execution time
+     * @param rows rows read or affected
+     */
+    static void record(String label, String sql, Map<Integer, Object> binds, long nanos, long rows) {
+        Instant at = Instant.now();
+        writer.execute(() -> write(at, label, sql, binds, nanos, rows));
+    }
+
+    private static void write(Instant at, String label, String sql, Map<Integer, Object> binds,
+                              long nanos, long rows) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(at).append(" slow query ")
+          .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms, ")
+          .append(rows).append(" rows [").append(label).append("]\n");
+        sb.append("  SQL:   ").append(sql.replaceAll("\\s+", " ")).append('\n');
+        sb.append("  Binds: ").append(binds).append('\n');
+        if (explainEnabled && isExplainable(sql)) {
+            sb.append("  EXPLAIN:\n");
+            appendExplain(sb, sql, binds);
+        }
+        logger.info(sb.toString());
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.trim();
+        head = head.substring(0, Math.min(6, head.length())).toUpperCase();
+        return head.startsWith("SELECT") || head.startsWith("UPDATE")
+            || head.startsWith("DELETE") || head.startsWith("INSERT");
+    }
+
+    /**
+     * Runs EXPLAIN on the physical connection underneath a pooled one,
+     * so the EXPLAIN itself is neither cached nor timed.
+     */
+    private static void appendExplain(StringBuilder sb, String sql, Map<Integer, Object> binds) {
+        try (Connection pooled = DBConnectionManager.getConnection()) {
+            Connection physical = pooled.unwrap(Connection.class);
+            try (PreparedStatement stmt = physical.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> bind : binds.entrySet()) {
+                    stmt.setObject(bind.getKey(), bind.getValue());
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    sb.append("    ");
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        sb.append(i > 1 ? " | " : "").append(meta.getColumnLabel(i));
+                    }
+                    sb.append('\n');
+                    while (rs.next()) {
+                        sb.append("    ");
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            sb.append(i > 1 ? " | " : "").append(rs.getString(i));
+                        }
+                        sb.append('\n');
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            sb.append("    (EXPLAIN failed: ").append(e.getMessage()).append(")\n");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.deptassoc.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of PreparedStatements for one physical pooled connection, keyed by SQL text
+ * (in practice the SQLConstants strings and the DAOs' inline queries) and by whether
+ * the statement returns generated keys, so the DAO inserts are cached too.
+ * Statements handed out are proxies whose close() clears parameters and batch,
+ * restores the fetch size, max rows and query timeout the driver created it with,
+ * and makes the statement available for the next prepare of the same SQL.
+ */
+public class StatementCache {
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LinkedHashMap<Key, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cached statement for the SQL if one is free, otherwise prepares a new one.
+     * If the cached statement is already checked out (the same SQL prepared twice on one
+     * connection before closing), an uncached statement is returned instead.
+     *
+     * @param sql the SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @param owner the connection proxy reported by getConnection() on the statement
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS);
+        CachedStatement cached = statements.get(key);
+        if (cached != null && cached.statement.isClosed()) {
+            statements.remove(key);
+            cached = null;
+        }
+        if (cached != null) {
+            if (cached.inUse) {
+                MISSES.incrementAndGet();
+                return physical.prepareStatement(sql, autoGeneratedKeys);
+            }
+            HITS.incrementAndGet();
+            return cached.checkout(owner);
+        }
+
+        MISSES.incrementAndGet();
+        PreparedStatement prepared = physical.prepareStatement(sql, autoGeneratedKeys);
+        try {
+            cached = new CachedStatement(prepared);
+        } catch (SQLException e) {
+            prepared.close();
+            throw e;
+        }
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.checkout(owner);
+    }
+
+    /**
+     * Closes every cached statement. Called when the physical connection is destroyed.
+     */
+    synchronized void clear() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closeQuietly();
+        }
+        statements.clear();
+    }
+
+    /**
+     * Closes and forgets statements still checked out, so one leaked by a borrower does
+     * not keep its SQL uncacheable. Called when the connection goes back to the pool.
+     */
+    synchronized void reclaim() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            CachedStatement cached = it.next();
+            if (cached.inUse) {
+                it.remove();
+                cached.evicted = true;
+                cached.closeQuietly();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            EVICTIONS.incrementAndGet();
+            if (eldest.inUse) {
+                eldest.evicted = true;   // closed when the borrower releases it
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    private synchronized void checkin(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            cached.closeQuietly();
+            return;
+        }
+        try {
+            cached.reset();
+        } catch (SQLException e) {
+            cached.closeQuietly();
+            statements.values().remove(cached);
+        }
+    }
+
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    public static long getEvictionCount() {
+        return EVICTIONS.get();
+    }
+
+    /**
+     * Returns the fraction of prepares served from cache, or 0 if nothing was prepared yet.
+     */
+    public static double getHitRatio() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final boolean generatedKeys;
+
+        Key(String sql, boolean generatedKeys) {
+            this.sql = sql;
+            this.generatedKeys = generatedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return generatedKeys == other.generatedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, generatedKeys);
+        }
+    }
+
+    private class CachedStatement {
+        private final PreparedStatement statement;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        /**
+         * Puts the statement back in the state it was prepared in.
+         */
+        void reset() throws SQLException {
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+
+        PreparedStatement checkout(Connection owner) {
+            inUse = true;
+            boolean[] closed = { false };
+            return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                checkin(this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed[0] || statement.isClosed();
+                        case "getConnection":
+                            return owner;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (closed[0]) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Ignored; the connection may already be gone
+            }
+        }
+    }
+}
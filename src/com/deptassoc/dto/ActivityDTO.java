@@ -1,5 +1,6 @@
 package com.deptassoc.dto;
 
+import java.sql.Date;
 import java.sql.Time;
 
 /**
@@ -14,6 +15,7 @@ public class ActivityDTO {
     private int participantCount;
     private int eventId;
     private String eventName;
+    private Date eventDate;
 
     public ActivityDTO(int activityId, String activityName, String description, Time startTime, Time endTime, int participantCount) {
         this.activityId = activityId;
@@ -88,6 +90,14 @@ public class ActivityDTO {
         this.eventName = eventName;
     }
 
+    public Date getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(Date eventDate) {
+        this.eventDate = eventDate;
+    }
+
     @Override
     public String toString() {
         return "ActivityDTO{" +
@@ -99,6 +109,7 @@ public class ActivityDTO {
                 ", participantCount=" + participantCount +
                 ", eventId=" + eventId +
                 ", eventName='" + eventName + '\'' +
+                ", eventDate=" + eventDate +
                 '}';
     }
 }
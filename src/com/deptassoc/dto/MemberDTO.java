@@ -0,0 +1,73 @@
+package com.deptassoc.dto;
+
+import java.sql.Date;
+
+/**
+ * Data Transfer Object for association members joined with the student's name.
+ */
+public class MemberDTO {
+    private int memberId;
+    private int studentId;
+    private String studentName;
+    private String role;
+    private Date joinedDate;
+
+    public MemberDTO(int memberId, int studentId, String studentName, String role, Date joinedDate) {
+        this.memberId = memberId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.role = role;
+        this.joinedDate = joinedDate;
+    }
+
+    public int getMemberId() {
+        return memberId;
+    }
+
+    public void setMemberId(int memberId) {
+        this.memberId = memberId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public Date getJoinedDate() {
+        return joinedDate;
+    }
+
+    public void setJoinedDate(Date joinedDate) {
+        this.joinedDate = joinedDate;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberDTO{" +
+                "memberId=" + memberId +
+                ", studentId=" + studentId +
+                ", studentName='" + studentName + '\'' +
+                ", role='" + role + '\'' +
+                ", joinedDate=" + joinedDate +
+                '}';
+    }
+}
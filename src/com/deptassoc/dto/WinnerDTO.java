@@ -0,0 +1,60 @@
+package com.deptassoc.dto;
+
+/**
+ * Data Transfer Object for activity winners joined with the student's name.
+ */
+public class WinnerDTO {
+    private int winnerId;
+    private int studentId;
+    private String studentName;
+    private int position;
+
+    public WinnerDTO(int winnerId, int studentId, String studentName, int position) {
+        this.winnerId = winnerId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.position = position;
+    }
+
+    public int getWinnerId() {
+        return winnerId;
+    }
+
+    public void setWinnerId(int winnerId) {
+        this.winnerId = winnerId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @Override
+    public String toString() {
+        return "WinnerDTO{" +
+                "winnerId=" + winnerId +
+                ", studentId=" + studentId +
+                ", studentName='" + studentName + '\'' +
+                ", position=" + position +
+                '}';
+    }
+}
@@ -13,6 +13,7 @@ public class Activity {
     private Time startTime;
     private Time endTime;
     private int participantCount;
+    private Integer maxParticipants;  // null = unlimited
     
     public Activity() {}
     
@@ -48,6 +49,9 @@ public class Activity {
     public int getParticipantCount() { return participantCount; }
     public void setParticipantCount(int participantCount) { this.participantCount = participantCount; }
     
+    public Integer getMaxParticipants() { return maxParticipants; }
+    public void setMaxParticipants(Integer maxParticipants) { this.maxParticipants = maxParticipants; }
+    
     @Override
     public String toString() {
         return "Activity{" +
@@ -58,6 +62,7 @@ public class Activity {
                 ", startTime=" + startTime +
                 ", endTime=" + endTime +
                 ", participantCount=" + participantCount +
+                ", maxParticipants=" + maxParticipants +
                 '}';
     }
 }
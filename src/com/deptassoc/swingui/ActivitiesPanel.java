@@ -4,17 +4,15 @@ import com.deptassoc.dao.ActivityDao;
 import com.deptassoc.model.Activity;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel that displays activities for selected event in a JTable.
- * Uses ActivityDao with SwingWorker.
+ * Uses ActivityDao through UiTaskScheduler.
  */
 public class ActivitiesPanel extends JPanel {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel<Integer, Activity> tableModel;
     private JLabel statusLabel;
     private JTextField eventIdField;
     
@@ -33,14 +31,16 @@ public class ActivitiesPanel extends JPanel {
         add(filterPanel, BorderLayout.NORTH);
         
         // Table
-        tableModel = new DefaultTableModel(
-            new String[]{"Activity ID", "Name", "Description", "Type"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        tableModel = new KeyedTableModel<>(
+            new String[]{"Activity ID", "Name", "Description", "Type"},
+            Activity::getActivityId,
+            a -> new Object[]{
+                a.getActivityId(),
+                a.getActivityName(),
+                a.getDescription(),
+                "Activity"
             }
-        };
+        );
         
         table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -72,39 +72,21 @@ public class ActivitiesPanel extends JPanel {
         
         final int finalEventId = eventId;
         
-        SwingWorker<List<Activity>, Void> worker = new SwingWorker<List<Activity>, Void>() {
-            @Override
-            protected List<Activity> doInBackground() throws Exception {
-                statusLabel.setText("Loading activities...");
-                return new ActivityDao().findByEvent(finalEventId);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Activity> activities = get();
-                    tableModel.setRowCount(0);
-                    for (Activity a : activities) {
-                        tableModel.addRow(new Object[]{
-                            a.getActivityId(),
-                            a.getActivityName(),
-                            a.getDescription(),
-                            "Activity"
-                        });
-                    }
-                    statusLabel.setText("Loaded " + activities.size() + " activities");
-                } catch (Exception e) {
-                    statusLabel.setText("Error: " + e.getMessage());
-                    JOptionPane.showMessageDialog(
-                        ActivitiesPanel.this,
-                        "Error loading activities: " + e.getMessage(),
-                        "Database Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
-            }
-        };
-        
-        worker.execute();
+        statusLabel.setText("Loading activities...");
+        UiTaskScheduler.submit(tableModel,
+            () -> new ActivityDao().findByEvent(finalEventId),
+            activities -> {
+                tableModel.setRows(activities);
+                statusLabel.setText("Loaded " + activities.size() + " activities");
+            },
+            e -> {
+                statusLabel.setText("Error: " + e.getMessage());
+                JOptionPane.showMessageDialog(
+                    ActivitiesPanel.this,
+                    "Error loading activities: " + e.getMessage(),
+                    "Database Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            });
     }
 }
@@ -6,7 +6,6 @@ import com.deptassoc.dto.ActivityDTO;
 import javax.swing.*;
 import java.awt.*;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * Dialog for editing/changing a student's activity registration.
@@ -77,33 +76,22 @@ public class ActivityRegistrationDialog extends JDialog {
     }
 
     private void loadOtherActivities() {
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.findOtherActivitiesInEvent(eventId, currentActivityId);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    for (ActivityDTO activity : activities) {
-                        activityComboBox.addItem(activity);
-                    }
-
-                    if (activities.isEmpty()) {
-                        changeButton.setEnabled(false);
-                        activityComboBox.addItem(new ActivityDTO(0, "No other activities available", "", null, null, 0));
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(ActivityRegistrationDialog.this,
-                            "Error loading activities: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
+        UiTaskScheduler.submit(activityComboBox,
+            () -> new ParticipantDao().findOtherActivitiesInEvent(eventId, currentActivityId),
+            activities -> {
+                for (ActivityDTO activity : activities) {
+                    activityComboBox.addItem(activity);
                 }
-            }
-        }.execute();
+
+                if (activities.isEmpty()) {
+                    changeButton.setEnabled(false);
+                    activityComboBox.addItem(new ActivityDTO(0, "No other activities available", "", null, null, 0));
+                }
+            },
+            ex -> JOptionPane.showMessageDialog(ActivityRegistrationDialog.this,
+                    "Error loading activities: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
     }
 
     private void onChangeButtonClicked() {
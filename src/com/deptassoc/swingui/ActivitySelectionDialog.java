@@ -1,15 +1,15 @@
 package com.deptassoc.swingui;
 
 import com.deptassoc.dao.ParticipantDao;
+import com.deptassoc.dao.RegistrationOutcome;
 import com.deptassoc.dto.ActivityDTO;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.sql.SQLException;
-import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Modal dialog for selecting and registering for activities.
@@ -96,43 +96,34 @@ public class ActivitySelectionDialog extends JDialog {
      * Loads activities that the student is not already registered for.
      */
     private void loadAvailableActivities() {
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.findAvailableActivitiesForStudent(studentId);
-            }
+        UiTaskScheduler.submit(activitiesTableModel,
+            () -> new ParticipantDao().findAvailableActivitiesForStudent(studentId),
+            activities -> {
+                activitiesTableModel.setRowCount(0);
 
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    activitiesTableModel.setRowCount(0);
-                    
-                    if (activities.isEmpty()) {
-                        messageLabel.setText("No activities available. You are already registered for all activities.");
-                        registerButton.setEnabled(false);
-                    } else {
-                        messageLabel.setText(" ");
-                        registerButton.setEnabled(true);
-                        
-                        for (ActivityDTO activity : activities) {
-                            activitiesTableModel.addRow(new Object[]{
-                                activity.getActivityId(),
-                                activity.getActivityName(),
-                                activity.getDescription(),
-                                activity.getStartTime(),
-                                activity.getEndTime(),
-                                activity.getParticipantCount()
-                            });
-                        }
-                    }
-                } catch (Exception ex) {
-                    messageLabel.setText("Error loading activities: " + ex.getMessage());
+                if (activities.isEmpty()) {
+                    messageLabel.setText("No activities available. You are already registered for all activities.");
                     registerButton.setEnabled(false);
+                } else {
+                    messageLabel.setText(" ");
+                    registerButton.setEnabled(true);
+
+                    for (ActivityDTO activity : activities) {
+                        activitiesTableModel.addRow(new Object[]{
+                            activity.getActivityId(),
+                            activity.getActivityName(),
+                            activity.getDescription(),
+                            activity.getStartTime(),
+                            activity.getEndTime(),
+                            activity.getParticipantCount()
+                        });
+                    }
                 }
-            }
-        }.execute();
+            },
+            ex -> {
+                messageLabel.setText("Error loading activities: " + ex.getMessage());
+                registerButton.setEnabled(false);
+            });
     }
 
     /**
@@ -157,41 +148,37 @@ public class ActivitySelectionDialog extends JDialog {
             selectedActivityIds.add(activityId);
         }
 
-        // Register for selected activities
-        new SwingWorker<Integer, Void>() {
+        // Register for selected activities in one transaction
+        new SwingWorker<Map<Integer, RegistrationOutcome>, Void>() {
             @Override
-            protected Integer doInBackground() throws Exception {
+            protected Map<Integer, RegistrationOutcome> doInBackground() throws Exception {
                 ParticipantDao dao = new ParticipantDao();
-                int successCount = 0;
-                
-                for (int activityId : selectedActivityIds) {
-                    try {
-                        if (dao.addParticipant(activityId, studentId)) {
-                            successCount++;
-                        }
-                    } catch (SQLIntegrityConstraintViolationException ex) {
-                        // Already registered for this activity, skip
-                    } catch (SQLException ex) {
-                        throw ex;
-                    }
-                }
-                
-                return successCount;
+                return dao.registerStudentForActivities(studentId, selectedActivityIds);
             }
 
             @Override
             protected void done() {
                 try {
-                    int successCount = get();
+                    Map<Integer, RegistrationOutcome> outcomes = get();
+                    int successCount = 0;
+                    StringBuilder skipped = new StringBuilder();
+                    for (Map.Entry<Integer, RegistrationOutcome> entry : outcomes.entrySet()) {
+                        if (entry.getValue() == RegistrationOutcome.REGISTERED) {
+                            successCount++;
+                        } else {
+                            skipped.append("\nActivity ").append(entry.getKey()).append(": ")
+                                   .append(describe(entry.getValue()));
+                        }
+                    }
                     if (successCount > 0) {
                         JOptionPane.showMessageDialog(ActivitySelectionDialog.this,
-                                "Successfully registered for " + successCount + " activity(ies).",
+                                "Successfully registered for " + successCount + " activity(ies)." + skipped,
                                 "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
                         dispose();
                     } else {
                         JOptionPane.showMessageDialog(ActivitySelectionDialog.this,
-                                "No activities were registered.",
+                                "No activities were registered." + skipped,
                                 "No Changes",
                                 JOptionPane.WARNING_MESSAGE);
                     }
@@ -204,4 +191,17 @@ public class ActivitySelectionDialog extends JDialog {
             }
         }.execute();
     }
+
+    private static String describe(RegistrationOutcome outcome) {
+        switch (outcome) {
+            case ALREADY_REGISTERED:
+                return "already registered";
+            case FULL:
+                return "full";
+            case NOT_FOUND:
+                return "no longer exists";
+            default:
+                return outcome.name().toLowerCase();
+        }
+    }
 }
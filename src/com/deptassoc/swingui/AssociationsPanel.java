@@ -1,20 +1,20 @@
 package com.deptassoc.swingui;
 
 import com.deptassoc.dao.AssociationDao;
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.model.Association;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
 /**
- * Panel that displays all associations in a JTable using SwingWorker.
+ * Panel that displays all associations in a JTable, loaded through UiTaskScheduler.
  * Uses AssociationDao to fetch data without freezing UI.
  */
 public class AssociationsPanel extends JPanel {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel<Integer, Association> tableModel;
     private JLabel statusLabel;
     
     public AssociationsPanel() {
@@ -22,14 +22,16 @@ public class AssociationsPanel extends JPanel {
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Create table
-        tableModel = new DefaultTableModel(
-            new String[]{"Assoc ID", "Name", "Description", "Est. Year"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Read-only
+        tableModel = new KeyedTableModel<>(
+            new String[]{"Assoc ID", "Name", "Description", "Est. Year"},
+            Association::getAssocId,
+            assoc -> new Object[]{
+                assoc.getAssocId(),
+                assoc.getAssocName(),
+                assoc.getDescription(),
+                assoc.getEstablishmentYear()
             }
-        };
+        );
         
         table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -53,48 +55,31 @@ public class AssociationsPanel extends JPanel {
         
         // Load data on initialization
         loadAssociations();
+        ChangeWatcher.watch(this, this::loadAssociations, ChangeVersions.ASSOCIATION);
     }
     
     private void loadAssociations() {
-        // Use SwingWorker to load data without freezing UI
-        SwingWorker<List<Association>, Void> worker = new SwingWorker<List<Association>, Void>() {
-            @Override
-            protected List<Association> doInBackground() throws Exception {
-                statusLabel.setText("Loading associations...");
-                return new AssociationDao().findAll();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Association> associations = get();
-                    populateTable(associations);
-                    statusLabel.setText("Loaded " + associations.size() + " associations");
-                } catch (Exception e) {
-                    statusLabel.setText("Error: " + e.getMessage());
-                    JOptionPane.showMessageDialog(
-                        AssociationsPanel.this,
-                        "Error loading associations: " + e.getMessage(),
-                        "Database Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
-            }
-        };
-        
-        worker.execute();
+        // Load off the EDT; a newer refresh supersedes one still in flight
+        statusLabel.setText("Loading associations...");
+        UiTaskScheduler.submit(tableModel,
+            () -> new AssociationDao().findAll(),
+            associations -> {
+                populateTable(associations);
+                statusLabel.setText("Loaded " + associations.size() + " associations");
+            },
+            e -> {
+                statusLabel.setText("Error: " + e.getMessage());
+                JOptionPane.showMessageDialog(
+                    AssociationsPanel.this,
+                    "Error loading associations: " + e.getMessage(),
+                    "Database Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            });
     }
     
     private void populateTable(List<Association> associations) {
-        tableModel.setRowCount(0);
-        
-        for (Association assoc : associations) {
-            tableModel.addRow(new Object[]{
-                assoc.getAssocId(),
-                assoc.getAssocName(),
-                assoc.getDescription(),
-                assoc.getEstablishmentYear()
-            });
-        }
+        // Only changed rows are repainted; selection and scroll position survive a refresh
+        tableModel.setRows(associations);
     }
 }
@@ -0,0 +1,156 @@
+package com.deptassoc.swingui;
+
+import com.deptassoc.dao.ChangeVersions;
+import com.deptassoc.db.DBConnectionManager;
+
+import javax.swing.*;
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Auto refresh for dashboard views, driven by the change versions the DAOs maintain.
+ *
+ * A view registers the tables it shows together with its reload action. Once per
+ * interval the watcher reads all table versions with one small query (off the EDT,
+ * through UiTaskScheduler) and runs the reload of each view that is on screen and
+ * has a table whose version moved since its last reload. Views that are hidden are
+ * skipped until they are shown again, and no query is made while none is showing.
+ *
+ * Registrations do not keep a view alive: the watcher holds them weakly and the view
+ * itself holds them strongly, so a discarded dashboard simply drops out.
+ *
+ * Interval is ui.autoRefresh.intervalMs in config.properties (0 disables).
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public final class ChangeWatcher {
+
+    private static final List<WeakReference<Watch>> WATCHES = new ArrayList<>();
+    private static Timer timer;
+    private static boolean polling;
+
+    private ChangeWatcher() {
+    }
+
+    /**
+     * Reloads a view whenever one of the given tables changes while it is showing.
+     *
+     * @param view the component whose visibility gates the reload
+     * @param reload reloads the view's data (called on the EDT)
+     * @param tables table names from ChangeVersions
+     */
+    public static void watch(JComponent view, Runnable reload, String... tables) {
+        int interval = Integer.parseInt(DBConnectionManager.getProperty("ui.autoRefresh.intervalMs", "5000"));
+        if (interval <= 0) {
+            return;
+        }
+        Watch watch = new Watch(view, reload, tables);
+        // The view owns the registration; the list only refers to it weakly
+        view.putClientProperty(watch, watch);
+        WATCHES.add(new WeakReference<>(watch));
+
+        if (timer == null) {
+            timer = new Timer(interval, e -> poll());
+            timer.start();
+        }
+    }
+
+    private static void poll() {
+        if (polling || !needsCheck()) {
+            return;
+        }
+        polling = true;
+        UiTaskScheduler.submit(ChangeWatcher.class, ChangeVersions::snapshot,
+            versions -> {
+                polling = false;
+                dispatch(versions);
+            },
+            ex -> {
+                polling = false;
+                if (ex instanceof SQLException && "42S02".equals(((SQLException) ex).getSQLState())) {
+                    // table_versions is missing; nothing will ever change, so stop asking
+                    timer.stop();
+                    System.err.println("Auto refresh disabled; run schema-change-versions.sql to enable it");
+                } else {
+                    System.err.println("Auto refresh check failed: " + ex.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Drops discarded views and returns true if a live view is showing or still needs
+     * its first version reading. Stops the timer once no views are left.
+     */
+    private static boolean needsCheck() {
+        boolean needed = false;
+        for (Iterator<WeakReference<Watch>> it = WATCHES.iterator(); it.hasNext(); ) {
+            Watch watch = it.next().get();
+            if (watch == null) {
+                it.remove();
+            } else if (watch.seen == null || watch.view.isShowing()) {
+                needed = true;
+            }
+        }
+        if (WATCHES.isEmpty()) {
+            timer.stop();
+            timer = null;
+        }
+        return needed;
+    }
+
+    private static void dispatch(Map<String, Long> versions) {
+        List<Watch> due = new ArrayList<>();
+        for (Iterator<WeakReference<Watch>> it = WATCHES.iterator(); it.hasNext(); ) {
+            Watch watch = it.next().get();
+            if (watch == null) {
+                it.remove();
+            } else if (watch.isDue(versions)) {
+                due.add(watch);
+            }
+        }
+        // Reload after the scan, since a reload may register new watches
+        for (Watch watch : due) {
+            watch.reload.run();
+        }
+    }
+
+    private static final class Watch {
+        private final JComponent view;
+        private final Runnable reload;
+        private final String[] tables;
+        // Versions the view last reloaded at; null until the first poll
+        private Map<String, Long> seen;
+
+        Watch(JComponent view, Runnable reload, String[] tables) {
+            this.view = view;
+            this.reload = reload;
+            this.tables = tables.clone();
+        }
+
+        /**
+         * Returns true if the view is showing and one of its tables changed,
+         * recording the new versions as seen.
+         */
+        boolean isDue(Map<String, Long> versions) {
+            Map<String, Long> current = new HashMap<>();
+            for (String table : tables) {
+                current.put(table, versions.get(table));
+            }
+            if (seen == null) {
+                // The view loaded its own data when it was built
+                seen = current;
+                return false;
+            }
+            if (!view.isShowing() || Objects.equals(seen, current)) {
+                return false;
+            }
+            seen = current;
+            return true;
+        }
+    }
+}
@@ -1,33 +1,38 @@
 package com.deptassoc.swingui;
 
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.dao.EventDao;
 import com.deptassoc.model.Event;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
- * Panel that displays all events in a JTable using SwingWorker.
+ * Panel that displays all events in a JTable, loaded page by page as it scrolls.
  */
 public class EventsPanel extends JPanel {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagingTableModel<Event> tableModel;
     private JLabel statusLabel;
     
     public EventsPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        tableModel = new DefaultTableModel(
-            new String[]{"Event ID", "Name", "Description", "Date", "Venue"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        EventDao eventDao = new EventDao();
+        tableModel = new PagingTableModel<>(
+            new String[]{"Event ID", "Name", "Description", "Date", "Venue"},
+            (after, limit) -> eventDao.findPage(after == null ? 0 : after.getEventId(), limit),
+            e -> new Object[]{
+                e.getEventId(),
+                e.getEventName(),
+                e.getDescription(),
+                e.getEventDate(),
+                e.getVenue()
             }
-        };
+        );
+        tableModel.setErrorHandler(this::onLoadError);
+        tableModel.addTableModelListener(e -> updateStatus());
         
         table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -45,43 +50,29 @@ public class EventsPanel extends JPanel {
         add(bottomPanel, BorderLayout.SOUTH);
         
         loadEvents();
+        ChangeWatcher.watch(this, this::loadEvents, ChangeVersions.EVENT);
     }
     
     private void loadEvents() {
-        SwingWorker<List<Event>, Void> worker = new SwingWorker<List<Event>, Void>() {
-            @Override
-            protected List<Event> doInBackground() throws Exception {
-                statusLabel.setText("Loading events...");
-                return new EventDao().findAll();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Event> events = get();
-                    tableModel.setRowCount(0);
-                    for (Event e : events) {
-                        tableModel.addRow(new Object[]{
-                            e.getEventId(),
-                            e.getEventName(),
-                            e.getDescription(),
-                            e.getEventDate(),
-                            e.getVenue()
-                        });
-                    }
-                    statusLabel.setText("Loaded " + events.size() + " events");
-                } catch (Exception e) {
-                    statusLabel.setText("Error: " + e.getMessage());
-                    JOptionPane.showMessageDialog(
-                        EventsPanel.this,
-                        "Error loading events: " + e.getMessage(),
-                        "Database Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
-            }
-        };
-        
-        worker.execute();
+        statusLabel.setText("Loading events...");
+        tableModel.reload();
+    }
+    
+    private void updateStatus() {
+        if (!tableModel.isComplete() && tableModel.getRowCount() == 0) {
+            return;
+        }
+        statusLabel.setText("Loaded " + tableModel.getRowCount() + " events" +
+            (tableModel.isComplete() ? "" : " (scroll for more)"));
+    }
+    
+    private void onLoadError(Exception e) {
+        statusLabel.setText("Error: " + e.getMessage());
+        JOptionPane.showMessageDialog(
+            EventsPanel.this,
+            "Error loading events: " + e.getMessage(),
+            "Database Error",
+            JOptionPane.ERROR_MESSAGE
+        );
     }
 }
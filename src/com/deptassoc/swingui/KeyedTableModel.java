@@ -0,0 +1,213 @@
+package com.deptassoc.swingui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-only table model whose rows are identified by a key (normally the primary key).
+ *
+ * setRows() takes a freshly loaded list and diffs it against the current rows:
+ * rows whose key disappeared are deleted, new keys are inserted, and rows whose
+ * cells changed are updated in place. Only those ranges are fired as table events,
+ * so a refresh that changes nothing repaints nothing and the JTable keeps its
+ * selection and scroll position.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class KeyedTableModel<K, T> extends AbstractTableModel {
+
+    private static final int NONE = 0;
+    private static final int INSERT = 1;
+    private static final int UPDATE = 2;
+
+    private final String[] columnNames;
+    private final Function<T, K> keyFunction;
+    private final Function<T, Object[]> rowMapper;
+
+    private final List<T> rows = new ArrayList<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<Object[]> cells = new ArrayList<>();
+
+    // Contiguous run of inserted or updated rows not yet fired
+    private int pendingType = NONE;
+    private int pendingFirst;
+    private int pendingLast;
+
+    public KeyedTableModel(String[] columnNames, Function<T, K> keyFunction, Function<T, Object[]> rowMapper) {
+        this.columnNames = columnNames.clone();
+        this.keyFunction = keyFunction;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * Replaces the table contents with a fresh list, firing only the differences.
+     * Keys must be unique within the list; if they are not, the whole table is replaced.
+     */
+    public void setRows(List<T> fresh) {
+        List<K> freshKeys = new ArrayList<>(fresh.size());
+        Set<K> freshKeySet = new HashSet<>(Math.max(16, fresh.size() * 4 / 3 + 1));
+        for (T item : fresh) {
+            K key = keyFunction.apply(item);
+            freshKeys.add(key);
+            if (!freshKeySet.add(key)) {
+                replaceAll(fresh, freshKeys);
+                return;
+            }
+        }
+
+        deleteMissing(freshKeySet);
+
+        // Remaining rows are a subset of the fresh keys; walk the fresh list and
+        // bring each position into line with it
+        Map<K, Integer> position = null;
+        for (int i = 0; i < fresh.size(); i++) {
+            T item = fresh.get(i);
+            K key = freshKeys.get(i);
+            Object[] newCells = rowMapper.apply(item);
+
+            if (i < keys.size() && Objects.equals(keys.get(i), key)) {
+                rows.set(i, item);
+                if (!Arrays.equals(cells.get(i), newCells)) {
+                    cells.set(i, newCells);
+                    pending(UPDATE, i);
+                }
+                continue;
+            }
+
+            if (position == null) {
+                position = indexKeys(i);
+            }
+            Integer from = position.remove(key);
+            if (from != null) {
+                // Row moved further up the order: take it out of its old place
+                flush();
+                int at = keys.indexOf(key);
+                remove(at, at);
+            }
+            rows.add(i, item);
+            keys.add(i, key);
+            cells.add(i, newCells);
+            pending(INSERT, i);
+        }
+        flush();
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int last = rows.size() - 1;
+        rows.clear();
+        keys.clear();
+        cells.clear();
+        fireTableRowsDeleted(0, last);
+    }
+
+    /**
+     * Returns the object behind a table row.
+     */
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return cells.get(row)[column];
+    }
+
+    /**
+     * Deletes rows whose key is not in the fresh list, one event per contiguous run.
+     */
+    private void deleteMissing(Set<K> freshKeySet) {
+        int runLast = -1;
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            if (!freshKeySet.contains(keys.get(i))) {
+                if (runLast < 0) {
+                    runLast = i;
+                }
+            } else if (runLast >= 0) {
+                remove(i + 1, runLast);
+                runLast = -1;
+            }
+        }
+        if (runLast >= 0) {
+            remove(0, runLast);
+        }
+    }
+
+    private Map<K, Integer> indexKeys(int from) {
+        Map<K, Integer> index = new HashMap<>(Math.max(16, (keys.size() - from) * 4 / 3 + 1));
+        for (int i = from; i < keys.size(); i++) {
+            index.put(keys.get(i), i);
+        }
+        return index;
+    }
+
+    private void remove(int first, int last) {
+        rows.subList(first, last + 1).clear();
+        keys.subList(first, last + 1).clear();
+        cells.subList(first, last + 1).clear();
+        fireTableRowsDeleted(first, last);
+    }
+
+    private void replaceAll(List<T> fresh, List<K> freshKeys) {
+        rows.clear();
+        keys.clear();
+        cells.clear();
+        rows.addAll(fresh);
+        keys.addAll(freshKeys);
+        for (T item : fresh) {
+            cells.add(rowMapper.apply(item));
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Extends the pending run with a row, firing the previous run if it cannot be extended.
+     */
+    private void pending(int type, int row) {
+        if (pendingType == type && row == pendingLast + 1) {
+            pendingLast = row;
+            return;
+        }
+        flush();
+        pendingType = type;
+        pendingFirst = row;
+        pendingLast = row;
+    }
+
+    private void flush() {
+        if (pendingType == INSERT) {
+            fireTableRowsInserted(pendingFirst, pendingLast);
+        } else if (pendingType == UPDATE) {
+            fireTableRowsUpdated(pendingFirst, pendingLast);
+        }
+        pendingType = NONE;
+    }
+}
@@ -1,5 +1,8 @@
 package com.deptassoc.swingui;
 
+import com.deptassoc.dao.ParticipantCountReconciler;
+import com.deptassoc.dao.RegistrationQueue;
+
 /**
  * Entry point for the Swing GUI application.
  * Shows 3-type login dialog, then displays MainFrame with role-specific menus.
@@ -14,6 +17,13 @@ public class MainSwing {
                 javax.swing.UIManager.getSystemLookAndFeelClassName()
             );
             
+            // Periodically repair participant_count drift
+            ParticipantCountReconciler.start();
+            
+            // Apply queued registrations on every exit path (window close, Exit menu)
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(RegistrationQueue::shutdownIfStarted, "registration-queue-shutdown"));
+            
             // Login loop - user can logout and login as different user
             boolean keepRunning = true;
             while (keepRunning) {
@@ -35,6 +45,7 @@ public class MainSwing {
                 }
             }
             
+            RegistrationQueue.shutdownIfStarted();
             System.exit(0);
             
         } catch (Exception e) {
@@ -45,6 +56,7 @@ public class MainSwing {
                 "Error",
                 javax.swing.JOptionPane.ERROR_MESSAGE
             );
+            RegistrationQueue.shutdownIfStarted();
             System.exit(1);
         }
     }
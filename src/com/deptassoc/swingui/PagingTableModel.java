@@ -0,0 +1,370 @@
+package com.deptassoc.swingui;
+
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Read-only table model that loads rows from a DAO page by page as the table scrolls.
+ *
+ * Rows are fetched through UiTaskScheduler with a keyset page query: the first
+ * page when reload() is called, and the next one whenever the table asks for a row
+ * near the end of what has been loaded. Only a window of recently used pages is kept
+ * in memory; an evicted page is re-read with the same cursor when it scrolls back into
+ * view, and its cells show empty until then. Each load fires rowsInserted or rowsUpdated
+ * events for just the affected range.
+ *
+ * refresh() re-reads the pages in memory with their own cursors instead of starting
+ * over. When a key function is set and a page comes back with the same keys in the same
+ * order, only its changed rows are fired as updated, so the row count, selection and
+ * scroll position survive (e.g. participant counts changing under a registration window).
+ * A page whose keys changed (rows inserted or deleted) makes the model reload from the top.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class PagingTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Loads the rows that follow a given row.
+     */
+    public interface PageLoader<T> {
+        /**
+         * @param after the last row of the previous page, or null for the first page
+         * @param limit the maximum number of rows to return
+         * @return the next rows in order; fewer than limit means there are no more
+         */
+        List<T> loadPage(T after, int limit) throws SQLException;
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_CACHED_PAGES = 10;
+
+    private final String[] columnNames;
+    private final PageLoader<T> loader;
+    private final Function<T, Object[]> rowMapper;
+    private final int pageSize;
+
+    // Row index of the first row of every page read so far, and the last row of each
+    // page (the cursor for the page after it). Both are kept for evicted pages too.
+    private final List<Integer> pageStarts = new ArrayList<>();
+    private final List<T> pageTails = new ArrayList<>();
+    private final Map<Integer, Page<T>> cache;
+    private final Set<Integer> loading = new HashSet<>();
+
+    private Function<T, ?> keyFunction;
+
+    private PageLoader<T> activeLoader;
+    private int rowCount;
+    private boolean complete = true;
+    private int generation;
+    private Consumer<Exception> errorHandler = e -> System.err.println("Error loading rows: " + e.getMessage());
+
+    public PagingTableModel(String[] columnNames, PageLoader<T> loader, Function<T, Object[]> rowMapper) {
+        this(columnNames, loader, rowMapper, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES);
+    }
+
+    public PagingTableModel(String[] columnNames, PageLoader<T> loader, Function<T, Object[]> rowMapper,
+                            int pageSize, int maxCachedPages) {
+        this.columnNames = columnNames.clone();
+        this.loader = loader;
+        this.activeLoader = loader;
+        this.rowMapper = rowMapper;
+        this.pageSize = pageSize;
+        this.cache = new LinkedHashMap<Integer, Page<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Sets the callback for page load failures (called on the EDT).
+     */
+    public void setErrorHandler(Consumer<Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Sets how rows are identified (normally by primary key), which lets refresh()
+     * update loaded pages in place. Without one, refresh() reloads from the top.
+     */
+    public void setKeyFunction(Function<T, ?> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Discards all rows and starts loading from the first page with the model's own loader.
+     */
+    public void reload() {
+        reload(loader);
+    }
+
+    /**
+     * Discards all rows and starts loading from the first page with another loader,
+     * e.g. when the table switches to a filtered view of the same columns.
+     */
+    public void reload(PageLoader<T> pageLoader) {
+        reset(false);
+        activeLoader = pageLoader;
+        requestPage(0);
+    }
+
+    /**
+     * Re-reads the pages in memory with the loader currently in use, e.g. after the
+     * underlying tables changed. See the class comment for when this falls back to a reload.
+     */
+    public void refresh() {
+        if (keyFunction == null || rowCount == 0) {
+            reload(activeLoader);
+            return;
+        }
+        for (int index : new ArrayList<>(cache.keySet())) {
+            refreshPage(index);
+        }
+    }
+
+    /**
+     * Discards all rows without loading anything.
+     */
+    public void clear() {
+        reset(true);
+    }
+
+    /**
+     * Returns true once the last page has been read.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the object behind a table row, or null if its page is not in memory.
+     */
+    public T getRow(int row) {
+        Page<T> page = pageFor(row);
+        if (page == null) {
+            return null;
+        }
+        int offset = row - pageStarts.get(page.index);
+        return offset < page.items.size() ? page.items.get(offset) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (!complete && row >= rowCount - pageSize / 2) {
+            requestPage(pageTails.size());
+        }
+        Page<T> page = pageFor(row);
+        if (page == null) {
+            return null;
+        }
+        int offset = row - pageStarts.get(page.index);
+        return offset < page.cells.length ? page.cells[offset][column] : null;
+    }
+
+    /**
+     * Finds the cached page holding a row, scheduling a re-read if it was evicted.
+     */
+    private Page<T> pageFor(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+        int index = Collections.binarySearch(pageStarts, row);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        Page<T> page = cache.get(index);
+        if (page == null) {
+            requestPage(index);
+        }
+        return page;
+    }
+
+    private void reset(boolean done) {
+        generation++;
+        for (int index : loading) {
+            UiTaskScheduler.cancel(pageKey(index));
+        }
+        pageStarts.clear();
+        pageTails.clear();
+        cache.clear();
+        loading.clear();
+        rowCount = 0;
+        complete = done;
+        fireTableDataChanged();
+    }
+
+    private void requestPage(int index) {
+        if (!loading.add(index)) {
+            return;
+        }
+        int requestGeneration = generation;
+        PageLoader<T> pageLoader = activeLoader;
+        T after = index == 0 ? null : pageTails.get(index - 1);
+
+        UiTaskScheduler.submit(pageKey(index), () -> pageLoader.loadPage(after, pageSize),
+            items -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading.remove(index);
+                onPageLoaded(index, items);
+            },
+            ex -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading.remove(index);
+                complete = true;
+                errorHandler.accept(ex);
+            });
+    }
+
+    private void refreshPage(int index) {
+        if (!loading.add(index)) {
+            // Already being read, so the result will be current anyway
+            return;
+        }
+        int requestGeneration = generation;
+        PageLoader<T> pageLoader = activeLoader;
+        T after = index == 0 ? null : pageTails.get(index - 1);
+        // One row more on the last page shows whether rows were added at the end
+        int limit = complete && index == pageTails.size() - 1 ? pageSize + 1 : pageSize;
+
+        UiTaskScheduler.submit(pageKey(index), () -> pageLoader.loadPage(after, limit),
+            items -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading.remove(index);
+                onPageRefreshed(index, items);
+            },
+            ex -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading.remove(index);
+                errorHandler.accept(ex);
+            });
+    }
+
+    /**
+     * Scheduler view key for one page of this model, so page loads coalesce per page.
+     */
+    private List<Object> pageKey(int index) {
+        return Arrays.asList(this, index);
+    }
+
+    private void onPageLoaded(int index, List<T> items) {
+        Object[][] cells = new Object[items.size()][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = rowMapper.apply(items.get(i));
+        }
+        cache.put(index, new Page<>(index, items, cells));
+
+        if (index == pageTails.size()) {
+            // A new page at the end of the table
+            if (items.size() < pageSize) {
+                complete = true;
+            }
+            if (items.isEmpty()) {
+                // Nothing to insert, but listeners still learn that loading finished
+                if (rowCount == 0) {
+                    fireTableDataChanged();
+                } else {
+                    fireTableRowsUpdated(rowCount - 1, rowCount - 1);
+                }
+                return;
+            }
+            int first = rowCount;
+            pageStarts.add(first);
+            pageTails.add(items.get(items.size() - 1));
+            rowCount += items.size();
+            fireTableRowsInserted(first, rowCount - 1);
+        } else {
+            // An evicted page read again; the row count is kept until the next reload
+            int first = pageStarts.get(index);
+            int end = index + 1 < pageStarts.size() ? pageStarts.get(index + 1) : rowCount;
+            fireTableRowsUpdated(first, end - 1);
+        }
+    }
+
+    private void onPageRefreshed(int index, List<T> items) {
+        Page<T> page = cache.get(index);
+        if (page == null) {
+            // Evicted meanwhile, and a read for it may have been turned away; read it normally
+            requestPage(index);
+            return;
+        }
+        if (items.size() != page.items.size()) {
+            reload(activeLoader);
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (!Objects.equals(keyFunction.apply(items.get(i)), keyFunction.apply(page.items.get(i)))) {
+                reload(activeLoader);
+                return;
+            }
+        }
+
+        Object[][] cells = new Object[items.size()][];
+        int first = pageStarts.get(index);
+        int firstChanged = -1;
+        int lastChanged = -1;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = rowMapper.apply(items.get(i));
+            if (!Arrays.equals(cells[i], page.cells[i])) {
+                if (firstChanged < 0) {
+                    firstChanged = i;
+                }
+                lastChanged = i;
+            }
+        }
+        cache.put(index, new Page<>(index, items, cells));
+        if (!items.isEmpty()) {
+            // The fresh tail carries the current sort values for the next page's cursor
+            pageTails.set(index, items.get(items.size() - 1));
+        }
+        if (firstChanged >= 0) {
+            fireTableRowsUpdated(first + firstChanged, first + lastChanged);
+        }
+    }
+
+    private static final class Page<T> {
+        final int index;
+        final List<T> items;
+        final Object[][] cells;
+
+        Page(int index, List<T> items, Object[][] cells) {
+            this.index = index;
+            this.items = items;
+            this.cells = cells;
+        }
+    }
+}
@@ -4,9 +4,7 @@ import com.deptassoc.dao.ActivityParticipantDao;
 import com.deptassoc.model.ActivityParticipant;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Skeleton panel for viewing activity participants.
@@ -14,7 +12,7 @@ import java.util.List;
  */
 public class ParticipantsPanel extends JPanel {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel<Integer, ActivityParticipant> tableModel;
     private JLabel statusLabel;
     private JTextField activityIdField;
     
@@ -33,14 +31,16 @@ public class ParticipantsPanel extends JPanel {
         add(filterPanel, BorderLayout.NORTH);
         
         // Table
-        tableModel = new DefaultTableModel(
-            new String[]{"Participant ID", "Activity ID", "Student ID", "Registered On"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        tableModel = new KeyedTableModel<>(
+            new String[]{"Participant ID", "Activity ID", "Student ID", "Registered On"},
+            ActivityParticipant::getParticipantId,
+            ap -> new Object[]{
+                ap.getParticipantId(),
+                ap.getActivityId(),
+                ap.getStudentId(),
+                ap.getRegisteredOn()
             }
-        };
+        );
         
         table = new JTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(table);
@@ -70,39 +70,21 @@ public class ParticipantsPanel extends JPanel {
         
         final int finalActivityId = activityId;
         
-        SwingWorker<List<ActivityParticipant>, Void> worker = new SwingWorker<List<ActivityParticipant>, Void>() {
-            @Override
-            protected List<ActivityParticipant> doInBackground() throws Exception {
-                statusLabel.setText("Loading participants...");
-                return new ActivityParticipantDao().findByActivity(finalActivityId);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityParticipant> participants = get();
-                    tableModel.setRowCount(0);
-                    for (ActivityParticipant ap : participants) {
-                        tableModel.addRow(new Object[]{
-                            ap.getParticipantId(),
-                            ap.getActivityId(),
-                            ap.getStudentId(),
-                            ap.getRegisteredOn()
-                        });
-                    }
-                    statusLabel.setText("Loaded " + participants.size() + " participants");
-                } catch (Exception e) {
-                    statusLabel.setText("Error: " + e.getMessage());
-                    JOptionPane.showMessageDialog(
-                        ParticipantsPanel.this,
-                        "Error loading participants: " + e.getMessage(),
-                        "Database Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
-            }
-        };
-        
-        worker.execute();
+        statusLabel.setText("Loading participants...");
+        UiTaskScheduler.submit(tableModel,
+            () -> new ActivityParticipantDao().findByActivity(finalActivityId),
+            participants -> {
+                tableModel.setRows(participants);
+                statusLabel.setText("Loaded " + participants.size() + " participants");
+            },
+            e -> {
+                statusLabel.setText("Error: " + e.getMessage());
+                JOptionPane.showMessageDialog(
+                    ParticipantsPanel.this,
+                    "Error loading participants: " + e.getMessage(),
+                    "Database Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            });
     }
 }
@@ -1,42 +1,54 @@
 package com.deptassoc.swingui;
 
+import com.deptassoc.dao.ActivityDao;
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.dao.EventDao;
 import com.deptassoc.dao.ParticipantDao;
+import com.deptassoc.dao.RegistrationOutcome;
+import com.deptassoc.dao.RegistrationQueue;
+import com.deptassoc.db.DBConnectionManager;
 import com.deptassoc.dto.ActivityDTO;
 import com.deptassoc.dto.RegistrationDTO;
+import com.deptassoc.model.Activity;
 import com.deptassoc.model.Event;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Student dashboard with three tabs: Events, Activities, and My Registrations.
  * Provides a comprehensive interface for students to browse and register for activities.
  */
 public class StudentDashboardPanel extends JPanel {
+    // How long a Register or Cancel click waits for the registration queue
+    private static final long QUEUE_TIMEOUT_MS =
+        Long.parseLong(DBConnectionManager.getProperty("ui.registration.timeoutMs", "30000"));
+
     private AuthResult authResult;
     private JTabbedPane tabbedPane;
     
     // Events tab
     private JTable eventsTable;
-    private DefaultTableModel eventsTableModel;
+    private PagingTableModel<Event> eventsTableModel;
     private JButton viewActivitiesButton;
     private JButton refreshEventsButton;
     private Event selectedEvent;
     
     // Activities tab
     private JTable activitiesTable;
-    private DefaultTableModel activitiesTableModel;
+    private PagingTableModel<ActivityDTO> activitiesTableModel;
     private JButton registerButton;
     private JButton refreshActivitiesButton;
     
     // My Registrations tab
     private JTable registrationsTable;
-    private DefaultTableModel registrationsTableModel;
+    private KeyedTableModel<Integer, RegistrationDTO> registrationsTableModel;
     private JButton registerNewButton;
     private JButton editButton;
     private JButton cancelButton;
@@ -97,15 +109,23 @@ public class StudentDashboardPanel extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Table
-        eventsTableModel = new DefaultTableModel(
+        EventDao eventDao = new EventDao();
+        eventsTableModel = new PagingTableModel<>(
             new String[]{"Event ID", "Event Name", "Description", "Date", "Venue"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            (after, limit) -> eventDao.findPage(after == null ? 0 : after.getEventId(), limit),
+            event -> new Object[]{
+                event.getEventId(),
+                event.getEventName(),
+                event.getDescription(),
+                event.getEventDate(),
+                event.getVenue()
             }
-        };
+        );
+        eventsTableModel.setErrorHandler(ex -> JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                "Error loading events: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
+        eventsTableModel.setKeyFunction(Event::getEventId);
         eventsTable = new JTable(eventsTableModel);
         eventsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(eventsTable);
@@ -123,6 +143,8 @@ public class StudentDashboardPanel extends JPanel {
         buttonPanel.add(refreshEventsButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
+        // Refresh the loaded rows in place while this tab is showing whenever events change
+        ChangeWatcher.watch(panel, eventsTableModel::refresh, ChangeVersions.EVENT);
         return panel;
     }
 
@@ -134,15 +156,24 @@ public class StudentDashboardPanel extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Table
-        activitiesTableModel = new DefaultTableModel(
+        ParticipantDao participantDao = new ParticipantDao();
+        activitiesTableModel = new PagingTableModel<>(
             new String[]{"Activity ID", "Activity Name", "Description", "Start Time", "End Time", "Participants"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            participantDao::findAllActivitiesPage,
+            activity -> new Object[]{
+                activity.getActivityId(),
+                activity.getActivityName(),
+                activity.getDescription(),
+                activity.getStartTime(),
+                activity.getEndTime(),
+                activity.getParticipantCount()
             }
-        };
+        );
+        activitiesTableModel.setErrorHandler(ex -> JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                "Error loading activities: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
+        activitiesTableModel.setKeyFunction(ActivityDTO::getActivityId);
         activitiesTable = new JTable(activitiesTableModel);
         activitiesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(activitiesTable);
@@ -160,6 +191,9 @@ public class StudentDashboardPanel extends JPanel {
         buttonPanel.add(refreshActivitiesButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
+        // Participant counts live on the activity row, so registrations bump ACTIVITY too;
+        // refreshing in place keeps the selection the student is about to register for
+        ChangeWatcher.watch(panel, activitiesTableModel::refresh, ChangeVersions.ACTIVITY);
         return panel;
     }
 
@@ -171,15 +205,17 @@ public class StudentDashboardPanel extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Table
-        registrationsTableModel = new DefaultTableModel(
+        registrationsTableModel = new KeyedTableModel<>(
             new String[]{"Participant ID", "Activity ID", "Activity Name", "Event Name", "Registered On"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            RegistrationDTO::getParticipantId,
+            reg -> new Object[]{
+                reg.getParticipantId(),
+                reg.getActivityId(),
+                reg.getActivityName(),
+                reg.getEventName(),
+                reg.getRegisteredOn()
             }
-        };
+        );
         registrationsTable = new JTable(registrationsTableModel);
         registrationsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(registrationsTable);
@@ -203,43 +239,16 @@ public class StudentDashboardPanel extends JPanel {
         buttonPanel.add(refreshRegistrationsButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
+        ChangeWatcher.watch(panel, this::loadMyRegistrations,
+            ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.ACTIVITY, ChangeVersions.EVENT);
         return panel;
     }
 
     /**
-     * Loads all events from the database.
+     * Loads events from the database, page by page as the table scrolls.
      */
     private void loadEvents() {
-        new SwingWorker<List<Event>, Void>() {
-            @Override
-            protected List<Event> doInBackground() throws Exception {
-                EventDao eventDao = new EventDao();
-                return eventDao.findAll();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<Event> events = get();
-                    eventsTableModel.setRowCount(0);
-                    
-                    for (Event event : events) {
-                        eventsTableModel.addRow(new Object[]{
-                            event.getEventId(),
-                            event.getEventName(),
-                            event.getDescription(),
-                            event.getEventDate(),
-                            event.getVenue()
-                        });
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                            "Error loading events: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        eventsTableModel.reload();
     }
 
     /**
@@ -256,119 +265,42 @@ public class StudentDashboardPanel extends JPanel {
             return;
         }
 
-        int eventId = (int) eventsTableModel.getValueAt(selectedRow, 0);
-        loadActivitiesByEvent(eventId);
+        Event event = eventsTableModel.getRow(selectedRow);
+        if (event == null) {
+            return;
+        }
+        loadActivitiesByEvent(event.getEventId());
         tabbedPane.setSelectedIndex(1); // Switch to Activities tab
     }
 
     /**
      * Loads activities for a specific event.
+     * An event's activities arrive as a single page.
      */
     private void loadActivitiesByEvent(int eventId) {
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.findActivitiesByEvent(eventId);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    activitiesTableModel.setRowCount(0);
-                    
-                    for (ActivityDTO activity : activities) {
-                        activitiesTableModel.addRow(new Object[]{
-                            activity.getActivityId(),
-                            activity.getActivityName(),
-                            activity.getDescription(),
-                            activity.getStartTime(),
-                            activity.getEndTime(),
-                            activity.getParticipantCount()
-                        });
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                            "Error loading activities: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        ParticipantDao dao = new ParticipantDao();
+        activitiesTableModel.reload((after, limit) ->
+            after == null ? dao.findActivitiesByEvent(eventId) : Collections.emptyList());
     }
 
     /**
-     * Loads all activities from the database.
+     * Loads all activities from the database, page by page as the table scrolls.
      */
     private void loadAllActivities() {
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.findAllActivities();
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    activitiesTableModel.setRowCount(0);
-                    
-                    for (ActivityDTO activity : activities) {
-                        activitiesTableModel.addRow(new Object[]{
-                            activity.getActivityId(),
-                            activity.getActivityName(),
-                            activity.getDescription(),
-                            activity.getStartTime(),
-                            activity.getEndTime(),
-                            activity.getParticipantCount()
-                        });
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                            "Error loading activities: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        activitiesTableModel.reload();
     }
 
     /**
      * Loads all registrations for the logged-in student.
      */
     private void loadMyRegistrations() {
-        new SwingWorker<List<RegistrationDTO>, Void>() {
-            @Override
-            protected List<RegistrationDTO> doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.findRegistrationsByStudent(authResult.getUserId());
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<RegistrationDTO> registrations = get();
-                    registrationsTableModel.setRowCount(0);
-                    
-                    for (RegistrationDTO reg : registrations) {
-                        registrationsTableModel.addRow(new Object[]{
-                            reg.getParticipantId(),
-                            reg.getActivityId(),
-                            reg.getActivityName(),
-                            reg.getEventName(),
-                            reg.getRegisteredOn()
-                        });
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                            "Error loading registrations: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        UiTaskScheduler.submit(registrationsTableModel,
+            () -> new ParticipantDao().findRegistrationsByStudent(authResult.getUserId()),
+            registrationsTableModel::setRows,
+            ex -> JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                    "Error loading registrations: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -384,8 +316,12 @@ public class StudentDashboardPanel extends JPanel {
             return;
         }
 
-        int activityId = (int) activitiesTableModel.getValueAt(selectedRow, 0);
-        String activityName = (String) activitiesTableModel.getValueAt(selectedRow, 1);
+        ActivityDTO activity = activitiesTableModel.getRow(selectedRow);
+        if (activity == null) {
+            return;
+        }
+        int activityId = activity.getActivityId();
+        String activityName = activity.getActivityName();
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Register for activity: " + activityName + "?",
@@ -396,42 +332,74 @@ public class StudentDashboardPanel extends JPanel {
             return;
         }
 
-        new SwingWorker<Boolean, Void>() {
+        new SwingWorker<RegistrationOutcome, Void>() {
             @Override
-            protected Boolean doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.registerStudentForActivity(authResult.getUserId(), activityId);
+            protected RegistrationOutcome doInBackground() throws Exception {
+                // Goes through the group-commit queue so concurrent clicks share a transaction
+                return RegistrationQueue.getInstance().register(authResult.getUserId(), activityId)
+                    .get(QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
             }
 
             @Override
             protected void done() {
                 try {
-                    boolean success = get();
-                    if (success) {
-                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                                "Successfully registered for " + activityName,
-                                "Success",
-                                JOptionPane.INFORMATION_MESSAGE);
-                        loadAllActivities();
-                        loadMyRegistrations();
+                    switch (get()) {
+                        case REGISTERED:
+                            JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                    "Successfully registered for " + activityName,
+                                    "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                            loadAllActivities();
+                            loadMyRegistrations();
+                            break;
+                        case ALREADY_REGISTERED:
+                            JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                    "Already registered for this activity.",
+                                    "Duplicate Registration",
+                                    JOptionPane.WARNING_MESSAGE);
+                            break;
+                        case FULL:
+                            JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                    activityName + " is full.",
+                                    "Activity Full",
+                                    JOptionPane.WARNING_MESSAGE);
+                            loadAllActivities();
+                            break;
+                        default:
+                            JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                    activityName + " no longer exists.",
+                                    "Not Found",
+                                    JOptionPane.WARNING_MESSAGE);
+                            loadAllActivities();
                     }
                 } catch (Exception ex) {
-                    if (ex.getCause() instanceof java.sql.SQLIntegrityConstraintViolationException) {
-                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                                "Already registered for this activity.",
-                                "Duplicate Registration",
-                                JOptionPane.WARNING_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                                "Error registering: " + ex.getMessage(),
-                                "Error",
-                                JOptionPane.ERROR_MESSAGE);
+                    if (ex.getCause() instanceof TimeoutException) {
+                        showQueueTimeout("Registration");
+                        return;
                     }
+                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                            "Error registering: " + ex.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
                 }
             }
         }.execute();
     }
 
+    /**
+     * Tells the student a queued request did not finish in time. The request stays
+     * queued and may still be applied, so the tables are reloaded to show where it stands.
+     */
+    private void showQueueTimeout(String what) {
+        JOptionPane.showMessageDialog(this,
+                what + " is taking longer than expected and may still complete.\n"
+                    + "Check My Registrations in a moment before trying again.",
+                "Still Pending",
+                JOptionPane.WARNING_MESSAGE);
+        loadMyRegistrations();
+        loadAllActivities();
+    }
+
     /**
      * Handles Edit button click.
      * Opens dialog to change registration to another activity in the same event.
@@ -452,58 +420,41 @@ public class StudentDashboardPanel extends JPanel {
         String eventName = (String) registrationsTableModel.getValueAt(selectedRow, 3);
 
         // Get event_id from activity
-        new SwingWorker<Integer, Void>() {
-            @Override
-            protected Integer doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                List<ActivityDTO> activities = dao.findAllActivities();
-                for (ActivityDTO act : activities) {
-                    if (act.getActivityId() == activityId) {
-                        return act.getEventId();
-                    }
-                }
-                return -1;
+        UiTaskScheduler.submit(registrationsTable, () -> {
+            Activity activity = new ActivityDao().findById(activityId);
+            return activity != null ? activity.getEventId() : -1;
+        }, eventId -> {
+            if (eventId == -1) {
+                JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                        "Could not find event for this activity.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
             }
 
-            @Override
-            protected void done() {
-                try {
-                    int eventId = get();
-                    if (eventId == -1) {
-                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                                "Could not find event for this activity.",
-                                "Error",
-                                JOptionPane.ERROR_MESSAGE);
-                        return;
-                    }
-
-                    ActivityRegistrationDialog dialog = new ActivityRegistrationDialog(
-                        (Frame) SwingUtilities.getWindowAncestor(StudentDashboardPanel.this),
-                        eventId,
-                        activityId,
-                        -1
-                    );
-                    dialog.setVisible(true);
-
-                    ActivityDTO selectedActivity = dialog.getSelectedActivity();
-                    if (selectedActivity != null && selectedActivity.getActivityId() != 0) {
-                        int confirm = JOptionPane.showConfirmDialog(StudentDashboardPanel.this,
-                                "Change registration from " + activityName + " to " + selectedActivity.getActivityName() + "?",
-                                "Confirm Change",
-                                JOptionPane.YES_NO_OPTION);
-
-                        if (confirm == JOptionPane.YES_OPTION) {
-                            changeRegistration(participantId, selectedActivity.getActivityId(), selectedActivity.getActivityName());
-                        }
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(StudentDashboardPanel.this,
-                            "Error: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
+            ActivityRegistrationDialog dialog = new ActivityRegistrationDialog(
+                (Frame) SwingUtilities.getWindowAncestor(StudentDashboardPanel.this),
+                eventId,
+                activityId,
+                -1
+            );
+            dialog.setVisible(true);
+
+            ActivityDTO selectedActivity = dialog.getSelectedActivity();
+            if (selectedActivity != null && selectedActivity.getActivityId() != 0) {
+                int confirm = JOptionPane.showConfirmDialog(StudentDashboardPanel.this,
+                        "Change registration from " + activityName + " to " + selectedActivity.getActivityName() + "?",
+                        "Confirm Change",
+                        JOptionPane.YES_NO_OPTION);
+
+                if (confirm == JOptionPane.YES_OPTION) {
+                    changeRegistration(participantId, selectedActivity.getActivityId(), selectedActivity.getActivityName());
                 }
             }
-        }.execute();
+        }, ex -> JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                "Error: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -528,6 +479,11 @@ public class StudentDashboardPanel extends JPanel {
                                 JOptionPane.INFORMATION_MESSAGE);
                         loadMyRegistrations();
                         loadAllActivities();
+                    } else {
+                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                newActivityName + " is full.",
+                                "Activity Full",
+                                JOptionPane.WARNING_MESSAGE);
                     }
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(StudentDashboardPanel.this,
@@ -564,26 +520,34 @@ public class StudentDashboardPanel extends JPanel {
             return;
         }
 
-        new SwingWorker<Boolean, Void>() {
+        new SwingWorker<RegistrationOutcome, Void>() {
             @Override
-            protected Boolean doInBackground() throws Exception {
-                ParticipantDao dao = new ParticipantDao();
-                return dao.cancelRegistration(participantId);
+            protected RegistrationOutcome doInBackground() throws Exception {
+                return RegistrationQueue.getInstance().cancel(participantId)
+                    .get(QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
             }
 
             @Override
             protected void done() {
                 try {
-                    boolean success = get();
-                    if (success) {
+                    if (get() == RegistrationOutcome.CANCELLED) {
                         JOptionPane.showMessageDialog(StudentDashboardPanel.this,
                                 "Registration cancelled successfully.",
                                 "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
-                        loadMyRegistrations();
-                        loadAllActivities();
+                    } else {
+                        JOptionPane.showMessageDialog(StudentDashboardPanel.this,
+                                "Registration was already cancelled.",
+                                "Not Found",
+                                JOptionPane.WARNING_MESSAGE);
                     }
+                    loadMyRegistrations();
+                    loadAllActivities();
                 } catch (Exception ex) {
+                    if (ex.getCause() instanceof TimeoutException) {
+                        showQueueTimeout("Cancellation");
+                        return;
+                    }
                     JOptionPane.showMessageDialog(StudentDashboardPanel.this,
                             "Error cancelling registration: " + ex.getMessage(),
                             "Error",
@@ -1,33 +1,34 @@
 package com.deptassoc.swingui;
 
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.dao.StudentDao;
 import com.deptassoc.model.Student;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
- * Panel that displays all students in a JTable using SwingWorker.
+ * Panel that displays all students in a JTable, loaded page by page as it scrolls.
  */
 public class StudentsPanel extends JPanel {
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagingTableModel<Student> tableModel;
     private JLabel statusLabel;
     
     public StudentsPanel() {
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        tableModel = new DefaultTableModel(
-            new String[]{"Student ID", "Name", "Email", "Phone"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        StudentDao studentDao = new StudentDao();
+        tableModel = new PagingTableModel<>(
+            new String[]{"Student ID", "Name", "Email", "Phone"},
+            (after, limit) -> studentDao.findPage(after == null ? 0 : after.getStudentId(), limit),
+            s -> new Object[]{
+                s.getStudentId(), s.getSName(), s.getSEmail(), s.getPhone()
             }
-        };
+        );
+        tableModel.setErrorHandler(this::onLoadError);
+        tableModel.addTableModelListener(e -> updateStatus());
         
         table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -45,39 +46,29 @@ public class StudentsPanel extends JPanel {
         add(bottomPanel, BorderLayout.SOUTH);
         
         loadStudents();
+        ChangeWatcher.watch(this, this::loadStudents, ChangeVersions.STUDENT);
     }
     
     private void loadStudents() {
-        SwingWorker<List<Student>, Void> worker = new SwingWorker<List<Student>, Void>() {
-            @Override
-            protected List<Student> doInBackground() throws Exception {
-                statusLabel.setText("Loading students...");
-                return new StudentDao().findAll();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Student> students = get();
-                    tableModel.setRowCount(0);
-                    for (Student s : students) {
-                        tableModel.addRow(new Object[]{
-                            s.getStudentId(), s.getSName(), s.getSEmail(), s.getPhone()
-                        });
-                    }
-                    statusLabel.setText("Loaded " + students.size() + " students");
-                } catch (Exception e) {
-                    statusLabel.setText("Error: " + e.getMessage());
-                    JOptionPane.showMessageDialog(
-                        StudentsPanel.this,
-                        "Error loading students: " + e.getMessage(),
-                        "Database Error",
-                        JOptionPane.ERROR_MESSAGE
-                    );
-                }
-            }
-        };
-        
-        worker.execute();
+        statusLabel.setText("Loading students...");
+        tableModel.reload();
+    }
+    
+    private void updateStatus() {
+        if (!tableModel.isComplete() && tableModel.getRowCount() == 0) {
+            return;
+        }
+        statusLabel.setText("Loaded " + tableModel.getRowCount() + " students" +
+            (tableModel.isComplete() ? "" : " (scroll for more)"));
+    }
+    
+    private void onLoadError(Exception e) {
+        statusLabel.setText("Error: " + e.getMessage());
+        JOptionPane.showMessageDialog(
+            StudentsPanel.this,
+            "Error loading students: " + e.getMessage(),
+            "Database Error",
+            JOptionPane.ERROR_MESSAGE
+        );
     }
 }
@@ -0,0 +1,172 @@
+package com.deptassoc.swingui;
+
+import com.deptassoc.db.DBConnectionManager;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the background loads of the Swing panels on one small, bounded thread pool.
+ *
+ * Every load is submitted for a view key (usually the table model or combo box it fills).
+ * Per view only the most recent submission counts:
+ * - a load that is still queued when a newer one arrives is replaced by it (coalescing),
+ *   so fast clicking never queues more than one pending load per view;
+ * - a load that is already running is left to finish, but its result is dropped,
+ *   so a slow stale query can never overwrite a newer one.
+ * Running queries are not interrupted; interrupting a JDBC read can break the connection.
+ *
+ * Results and errors are delivered on the Event Dispatch Thread.
+ * Pool size is read from ui.tasks.threads in config.properties.
+ */
+public final class UiTaskScheduler {
+
+    /**
+     * A background load.
+     */
+    public interface Task<T> {
+        T call() throws Exception;
+    }
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final Object LOCK = new Object();
+    private static final Map<Object, Slot> SLOTS = new HashMap<>();
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        int threads = Math.max(1, Integer.parseInt(DBConnectionManager.getProperty("ui.tasks.threads", "4")));
+        AtomicInteger counter = new AtomicInteger();
+        EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread t = new Thread(r, "ui-task-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private UiTaskScheduler() {
+    }
+
+    /**
+     * Submits a load for a view, superseding any earlier load for the same view.
+     *
+     * @param view identifies the view the result is for (compared with equals)
+     * @param task the background work
+     * @param onSuccess receives the result on the EDT, only if no newer load was submitted
+     * @param onError receives the failure on the EDT, only if no newer load was submitted
+     */
+    public static <T> void submit(Object view, Task<T> task, Consumer<? super T> onSuccess,
+                                  Consumer<Exception> onError) {
+        Job<T> job = new Job<>(task, onSuccess, onError);
+        synchronized (LOCK) {
+            Slot slot = SLOTS.computeIfAbsent(view, k -> new Slot());
+            slot.latest = job;
+            if (slot.queued != null) {
+                // A runner for this view is already waiting in the pool; it will pick up this job instead
+                slot.queued = job;
+                return;
+            }
+            slot.queued = job;
+            try {
+                EXECUTOR.execute(() -> runQueued(view, slot));
+            } catch (RejectedExecutionException e) {
+                slot.queued = null;
+                slot.latest = null;
+                SLOTS.remove(view, slot);
+                SwingUtilities.invokeLater(() -> onError.accept(
+                    new IllegalStateException("Too many background loads pending; please try again")));
+            }
+        }
+    }
+
+    /**
+     * Drops any queued load for a view and discards the result of a running one.
+     */
+    public static void cancel(Object view) {
+        synchronized (LOCK) {
+            Slot slot = SLOTS.remove(view);
+            if (slot != null) {
+                slot.queued = null;
+                slot.latest = null;
+            }
+        }
+    }
+
+    private static void runQueued(Object view, Slot slot) {
+        Job<?> job;
+        synchronized (LOCK) {
+            job = slot.queued;
+            slot.queued = null;
+        }
+        if (job != null) {
+            job.run(view, slot);
+        }
+    }
+
+    /**
+     * Delivers a finished job if it is still the latest for its view.
+     * Returns false (and delivers nothing) if it has been superseded or cancelled.
+     */
+    private static boolean finish(Object view, Slot slot, Job<?> job) {
+        synchronized (LOCK) {
+            if (slot.latest != job) {
+                return false;
+            }
+            if (slot.queued == null) {
+                slot.latest = null;
+                SLOTS.remove(view, slot);
+            }
+            return true;
+        }
+    }
+
+    private static final class Slot {
+        Job<?> queued;
+        Job<?> latest;
+    }
+
+    private static final class Job<T> {
+        private final Task<T> task;
+        private final Consumer<? super T> onSuccess;
+        private final Consumer<Exception> onError;
+
+        Job(Task<T> task, Consumer<? super T> onSuccess, Consumer<Exception> onError) {
+            this.task = task;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        void run(Object view, Slot slot) {
+            synchronized (LOCK) {
+                if (slot.latest != this) {
+                    return;
+                }
+            }
+            T result;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(view, slot, this)) {
+                        onError.accept(e);
+                    }
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (finish(view, slot, this)) {
+                    onSuccess.accept(result);
+                }
+            });
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.deptassoc.ui;
 
 import com.deptassoc.dao.*;
+import com.deptassoc.dto.MemberDTO;
+import com.deptassoc.dto.StudentDTO;
+import com.deptassoc.dto.WinnerDTO;
 import com.deptassoc.model.*;
 import com.deptassoc.auth.AuthResult;
 import java.sql.Date;
@@ -8,8 +11,12 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 /**
  * CHANGED: Console-based UI for managing department associations.
@@ -279,7 +286,7 @@ public class ConsoleUI {
         
         Association assoc = new Association(0, name, year, deptId, desc);
         assocDao.insert(assoc);
-        System.out.println("Association added successfully!");
+        System.out.println("Association added successfully! (ID: " + assoc.getAssocId() + ")");
     }
     
     private void updateAssociation() throws Exception {
@@ -368,7 +375,7 @@ public class ConsoleUI {
         
         Faculty faculty = new Faculty(0, name, email, phone, designation);
         facultyDao.insert(faculty);
-        System.out.println("Faculty added successfully!");
+        System.out.println("Faculty added successfully! (ID: " + faculty.getFacultyId() + ")");
     }
     
     private void updateFaculty() throws Exception {
@@ -436,14 +443,17 @@ public class ConsoleUI {
     }
     
     private void listStudents() throws Exception {
-        List<Student> students = studentDao.findAll();
-        if (students.isEmpty()) {
-            System.out.println("No students found.");
-        } else {
-            System.out.println("\n--- All Students ---");
-            for (Student s : students) {
-                System.out.printf("ID: %d | Name: %s | Email: %s | Phone: %s%n",
-                    s.getStudentId(), s.getSName(), s.getSEmail(), s.getPhone());
+        try (Stream<Student> students = studentDao.streamAll()) {
+            Iterator<Student> it = students.iterator();
+            if (!it.hasNext()) {
+                System.out.println("No students found.");
+            } else {
+                System.out.println("\n--- All Students ---");
+                while (it.hasNext()) {
+                    Student s = it.next();
+                    System.out.printf("ID: %d | Name: %s | Email: %s | Phone: %s%n",
+                        s.getStudentId(), s.getSName(), s.getSEmail(), s.getPhone());
+                }
             }
         }
     }
@@ -456,7 +466,7 @@ public class ConsoleUI {
         
         Student student = new Student(0, name, email, phone);
         studentDao.insert(student);
-        System.out.println("Student added successfully!");
+        System.out.println("Student added successfully! (ID: " + student.getStudentId() + ")");
     }
     
     private void updateStudent() throws Exception {
@@ -522,15 +532,18 @@ public class ConsoleUI {
     }
     
     private void listEvents() throws Exception {
-        List<Event> events = eventDao.findAll();
-        if (events.isEmpty()) {
-            System.out.println("No events found.");
-        } else {
-            System.out.println("\n--- All Events ---");
-            for (Event e : events) {
-                System.out.printf("ID: %d | AssocID: %d | Name: %s | Date: %s | Venue: %s | Count: %d%n",
-                    e.getEventId(), e.getAssocId(), e.getEventName(), e.getEventDate(),
-                    e.getVenue(), e.getParticipantCount());
+        try (Stream<Event> events = eventDao.streamAll()) {
+            Iterator<Event> it = events.iterator();
+            if (!it.hasNext()) {
+                System.out.println("No events found.");
+            } else {
+                System.out.println("\n--- All Events ---");
+                while (it.hasNext()) {
+                    Event e = it.next();
+                    System.out.printf("ID: %d | AssocID: %d | Name: %s | Date: %s | Venue: %s | Count: %d%n",
+                        e.getEventId(), e.getAssocId(), e.getEventName(), e.getEventDate(),
+                        e.getVenue(), e.getParticipantCount());
+                }
             }
         }
     }
@@ -547,7 +560,7 @@ public class ConsoleUI {
         Date date = Date.valueOf(dateStr);
         Event event = new Event(0, assocId, name, date, venue, desc, count);
         eventDao.insert(event);
-        System.out.println("Event added successfully!");
+        System.out.println("Event added successfully! (ID: " + event.getEventId() + ")");
     }
     
     private void updateEvent() throws Exception {
@@ -612,15 +625,18 @@ public class ConsoleUI {
     }
     
     private void listActivities() throws Exception {
-        List<Activity> activities = activityDao.findAll();
-        if (activities.isEmpty()) {
-            System.out.println("No activities found.");
-        } else {
-            System.out.println("\n--- All Activities ---");
-            for (Activity a : activities) {
-                System.out.printf("ID: %d | EventID: %d | Name: %s | Start: %s | End: %s | Count: %d%n",
-                    a.getActivityId(), a.getEventId(), a.getActivityName(),
-                    a.getStartTime(), a.getEndTime(), a.getParticipantCount());
+        try (Stream<Activity> activities = activityDao.streamAll()) {
+            Iterator<Activity> it = activities.iterator();
+            if (!it.hasNext()) {
+                System.out.println("No activities found.");
+            } else {
+                System.out.println("\n--- All Activities ---");
+                while (it.hasNext()) {
+                    Activity a = it.next();
+                    System.out.printf("ID: %d | EventID: %d | Name: %s | Start: %s | End: %s | Count: %d%n",
+                        a.getActivityId(), a.getEventId(), a.getActivityName(),
+                        a.getStartTime(), a.getEndTime(), a.getParticipantCount());
+                }
             }
         }
     }
@@ -633,12 +649,14 @@ public class ConsoleUI {
         String startStr = readString("Start Time (HH:MM:SS): ");
         String endStr = readString("End Time (HH:MM:SS): ");
         int count = readInt("Participant Count: ");
+        int max = readInt("Max Participants (0 for unlimited): ");
         
         Time startTime = Time.valueOf(startStr);
         Time endTime = Time.valueOf(endStr);
         Activity activity = new Activity(0, eventId, name, desc, startTime, endTime, count);
+        activity.setMaxParticipants(max > 0 ? max : null);
         activityDao.insert(activity);
-        System.out.println("Activity added successfully!");
+        System.out.println("Activity added successfully! (ID: " + activity.getActivityId() + ")");
     }
     
     private void updateActivity() throws Exception {
@@ -656,6 +674,10 @@ public class ConsoleUI {
         int count = readInt("New Participant Count (0 to keep): ");
         if (count > 0) activity.setParticipantCount(count);
         
+        int max = readInt("New Max Participants (0 to keep, -1 for unlimited): ");
+        if (max > 0) activity.setMaxParticipants(max);
+        if (max < 0) activity.setMaxParticipants(null);
+        
         activityDao.update(activity);
         System.out.println("Activity updated successfully!");
     }
@@ -676,7 +698,7 @@ public class ConsoleUI {
         Timestamp timestamp = new Timestamp(System.currentTimeMillis());
         ActivityParticipant participant = new ActivityParticipant(0, activityId, studentId, timestamp);
         participantDao.insert(participant);
-        System.out.println("Participant registered successfully!");
+        System.out.println("Participant registered successfully! (ID: " + participant.getParticipantId() + ")");
     }
     
     // ===== ADD WINNER =====
@@ -688,7 +710,7 @@ public class ConsoleUI {
         
         ActivityWinner winner = new ActivityWinner(0, activityId, studentId, position);
         winnerDao.insert(winner);
-        System.out.println("Winner added successfully!");
+        System.out.println("Winner added successfully! (ID: " + winner.getWinnerId() + ")");
     }
     
     // ===== REPORTS =====
@@ -701,7 +723,8 @@ public class ConsoleUI {
             System.out.println("3. Events by Association");
             System.out.println("4. Activities by Event");
             System.out.println("5. Members of Association");
-            System.out.println("6. Back");
+            System.out.println("6. Participation Summary");
+            System.out.println("7. Back");
             
             int choice = readInt("Choose: ");
             switch (choice) {
@@ -721,6 +744,9 @@ public class ConsoleUI {
                     reportMembersOfAssociation();
                     break;
                 case 6:
+                    reportParticipationSummary();
+                    break;
+                case 7:
                     viewing = false;
                     break;
                 default:
@@ -737,15 +763,14 @@ public class ConsoleUI {
             return;
         }
         
-        List<ActivityParticipant> participants = participantDao.findByActivity(activityId);
+        List<StudentDTO> participants = participantDao.findParticipantReportByActivity(activityId);
         System.out.println("\n--- Participants in " + activity.getActivityName() + " ---");
         if (participants.isEmpty()) {
             System.out.println("No participants.");
         } else {
-            for (ActivityParticipant p : participants) {
-                Student s = studentDao.findById(p.getStudentId());
+            for (StudentDTO p : participants) {
                 System.out.printf("Student: %s (ID: %d) | Registered: %s%n",
-                    s.getSName(), s.getStudentId(), p.getRegisteredOn());
+                    p.getName(), p.getStudentId(), p.getRegisteredOn());
             }
         }
     }
@@ -758,15 +783,14 @@ public class ConsoleUI {
             return;
         }
         
-        List<ActivityWinner> winners = winnerDao.findByActivity(activityId);
+        List<WinnerDTO> winners = winnerDao.findWinnerReportByActivity(activityId);
         System.out.println("\n--- Winners of " + activity.getActivityName() + " ---");
         if (winners.isEmpty()) {
             System.out.println("No winners.");
         } else {
-            for (ActivityWinner w : winners) {
-                Student s = studentDao.findById(w.getStudentId());
+            for (WinnerDTO w : winners) {
                 System.out.printf("Position %d: %s (ID: %d)%n",
-                    w.getPosition(), s.getSName(), s.getStudentId());
+                    w.getPosition(), w.getStudentName(), w.getStudentId());
             }
         }
     }
@@ -819,17 +843,74 @@ public class ConsoleUI {
             return;
         }
         
-        List<AssociationMember> members = memberDao.findByAssociation(assocId);
+        List<MemberDTO> members = memberDao.findMemberReportByAssociation(assocId);
         System.out.println("\n--- Members of " + assoc.getAssocName() + " ---");
         if (members.isEmpty()) {
             System.out.println("No members.");
         } else {
-            for (AssociationMember m : members) {
-                Student s = studentDao.findById(m.getStudentId());
+            for (MemberDTO m : members) {
                 System.out.printf("Member: %s (ID: %d) | Role: %s | Joined: %s%n",
-                    s.getSName(), s.getStudentId(), m.getRole(), m.getJoinedDate());
+                    m.getStudentName(), m.getStudentId(), m.getRole(), m.getJoinedDate());
+            }
+        }
+    }
+    
+    /**
+     * Registrations per activity and the most active students, counted from the
+     * in-memory ParticipationGraph rather than from participant rows.
+     */
+    private void reportParticipationSummary() throws Exception {
+        ParticipationGraph graph = ParticipationGraph.current();
+        
+        System.out.println("\n--- Registrations per Activity ---");
+        List<Activity> activities = activityDao.findAll();
+        if (activities.isEmpty()) {
+            System.out.println("No activities.");
+        }
+        for (Activity a : activities) {
+            System.out.printf("Activity: %s (ID: %d) | Registered: %d%n",
+                a.getActivityName(), a.getActivityId(), graph.countStudents(a.getActivityId()));
+        }
+        
+        System.out.println("\n--- Most Active Students ---");
+        int[] studentIds = graph.studentIds();
+        int[] top = new int[Math.min(5, studentIds.length)];
+        int[] topCounts = new int[top.length];
+        int filled = 0;
+        for (int studentId : studentIds) {
+            int count = graph.countActivities(studentId);
+            // Insertion into the short top list, kept in descending order
+            int pos = filled;
+            while (pos > 0 && topCounts[pos - 1] < count) {
+                pos--;
+            }
+            if (pos == top.length) {
+                continue;
+            }
+            int moved = Math.min(filled, top.length - 1) - pos;
+            System.arraycopy(top, pos, top, pos + 1, moved);
+            System.arraycopy(topCounts, pos, topCounts, pos + 1, moved);
+            top[pos] = studentId;
+            topCounts[pos] = count;
+            filled = Math.min(filled + 1, top.length);
+        }
+        if (filled == 0) {
+            System.out.println("No registrations.");
+        } else {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < filled; i++) {
+                ids.add(top[i]);
+            }
+            Map<Integer, Student> students = studentDao.findByIds(ids);
+            for (int i = 0; i < filled; i++) {
+                Student s = students.get(top[i]);
+                System.out.printf("Student: %s (ID: %d) | Activities: %d%n",
+                    s != null ? s.getSName() : "?", top[i], topCounts[i]);
             }
         }
+        
+        System.out.printf("%nTotal registrations: %d | In memory: %d bytes (%.1f bytes per registration)%n",
+            graph.edgeCount(), graph.memoryBytes(), graph.bytesPerEdge());
     }
     
     // ===== UTILITY METHODS =====
@@ -5,17 +5,29 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import com.deptassoc.swingui.AuthResult;
+import com.deptassoc.swingui.ChangeWatcher;
+import com.deptassoc.swingui.KeyedTableModel;
+import com.deptassoc.swingui.PagingTableModel;
+import com.deptassoc.swingui.UiTaskScheduler;
 import com.deptassoc.dao.EventDao;
 import com.deptassoc.dao.ActivityDao;
 import com.deptassoc.dao.AssociationMemberDao;
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.dao.ParticipantDao;
+import com.deptassoc.dao.ParticipationGraph;
+import com.deptassoc.dao.StudentDao;
 import com.deptassoc.dto.ActivityDTO;
 import com.deptassoc.model.Event;
 import com.deptassoc.model.Activity;
+import com.deptassoc.model.Student;
 
 public class AssociationMemberDashboardPanel extends JPanel {
     private AuthResult authResult;
@@ -24,6 +36,7 @@ public class AssociationMemberDashboardPanel extends JPanel {
     private ActivityDao activityDao;
     private AssociationMemberDao associationMemberDao;
     private ParticipantDao participantDao;
+    private StudentDao studentDao;
     private JButton refreshButton;
     
     public AssociationMemberDashboardPanel(AuthResult authResult) {
@@ -32,6 +45,7 @@ public class AssociationMemberDashboardPanel extends JPanel {
         this.activityDao = new ActivityDao();
         this.associationMemberDao = new AssociationMemberDao();
         this.participantDao = new ParticipantDao();
+        this.studentDao = new StudentDao();
         
         setLayout(new BorderLayout());
         
@@ -250,26 +264,45 @@ public class AssociationMemberDashboardPanel extends JPanel {
     
     // Inner class for table panels
     private class ScrollableTablePanel extends JPanel {
-        private DefaultTableModel tableModel;
+        private KeyedTableModel<Object, Object[]> tableModel;
         private JTable table;
         private String panelTitle;
+        private String[] columnNames;
         
         public ScrollableTablePanel(String title, String[] columnNames) {
             this.panelTitle = title;
+            this.columnNames = columnNames;
             setLayout(new BorderLayout());
             
-            tableModel = new DefaultTableModel(columnNames, 0) {
-                @Override
-                public boolean isCellEditable(int row, int col) {
-                    return false;
-                }
-            };
+            // Rows are keyed by their first column so a refresh only repaints what changed
+            tableModel = new KeyedTableModel<>(columnNames, row -> row[0], row -> row);
             
             table = new JTable(tableModel);
             table.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
             
             JScrollPane scrollPane = new JScrollPane(table);
             add(scrollPane, BorderLayout.CENTER);
+            
+            // Reload while this tab is showing whenever its tables change
+            String[] tables = watchedTables();
+            if (tables.length > 0) {
+                ChangeWatcher.watch(this, this::refreshData, tables);
+            }
+        }
+        
+        private String[] watchedTables() {
+            if ("Events".equals(panelTitle)) {
+                return new String[]{ChangeVersions.EVENT};
+            } else if ("Members & Roles".equals(panelTitle)) {
+                return new String[]{ChangeVersions.ASSOCIATION_MEMBERS, ChangeVersions.STUDENT};
+            } else if ("Faculty Coordinators".equals(panelTitle)) {
+                // Static data
+                return new String[0];
+            } else if (panelTitle.endsWith("Participants") || "Participants Overview".equals(panelTitle)) {
+                return new String[]{ChangeVersions.ACTIVITY, ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.STUDENT};
+            }
+            // Every other view is built from the activity table
+            return new String[]{ChangeVersions.ACTIVITY};
         }
         
         public void loadData() {
@@ -294,332 +327,210 @@ public class AssociationMemberDashboardPanel extends JPanel {
             }
         }
         
-        public DefaultTableModel getTableModel() {
+        /**
+         * Reloads after a change: paged tables re-read their loaded pages in place,
+         * the keyed ones diff a fresh load anyway.
+         */
+        private void refreshData() {
+            if (table.getModel() instanceof PagingTableModel) {
+                ((PagingTableModel<?>) table.getModel()).refresh();
+            } else {
+                loadData();
+            }
+        }
+        
+        public KeyedTableModel<Object, Object[]> getTableModel() {
             return tableModel;
         }
         
         private void loadEventsData() {
-            SwingWorker<List<Event>, Void> worker = new SwingWorker<List<Event>, Void>() {
-                @Override
-                protected List<Event> doInBackground() throws Exception {
-                    return eventDao.findAll();
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        List<Event> events = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Event event : events) {
-                            tableModel.addRow(new Object[]{
-                                event.getEventId(),
-                                event.getEventName(),
-                                event.getDescription(),
-                                event.getEventDate()
-                            });
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading events: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            if (!(table.getModel() instanceof PagingTableModel)) {
+                PagingTableModel<Event> eventsModel = new PagingTableModel<>(
+                    columnNames,
+                    (after, limit) -> eventDao.findPage(after == null ? 0 : after.getEventId(), limit),
+                    event -> new Object[]{
+                        event.getEventId(),
+                        event.getEventName(),
+                        event.getDescription(),
+                        event.getEventDate()
                     }
-                }
-            };
-            worker.execute();
+                );
+                eventsModel.setErrorHandler(e -> JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
+                    "Error loading events: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+                eventsModel.setKeyFunction(Event::getEventId);
+                table.setModel(eventsModel);
+            }
+            ((PagingTableModel<?>) table.getModel()).reload();
         }
         
         private void loadActivitiesData() {
-            SwingWorker<List<Activity>, Void> worker = new SwingWorker<List<Activity>, Void>() {
-                @Override
-                protected List<Activity> doInBackground() throws Exception {
-                    return activityDao.findAll();
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        List<Activity> activities = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Activity activity : activities) {
-                            tableModel.addRow(new Object[]{
-                                activity.getActivityId(),
-                                activity.getActivityName(),
-                                activity.getDescription()
-                            });
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading activities: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            if (!(table.getModel() instanceof PagingTableModel)) {
+                PagingTableModel<Activity> activitiesModel = new PagingTableModel<>(
+                    columnNames,
+                    (after, limit) -> activityDao.findPage(after == null ? 0 : after.getActivityId(), limit),
+                    activity -> new Object[]{
+                        activity.getActivityId(),
+                        activity.getActivityName(),
+                        activity.getDescription()
                     }
-                }
-            };
-            worker.execute();
+                );
+                activitiesModel.setErrorHandler(e -> JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
+                    "Error loading activities: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+                activitiesModel.setKeyFunction(Activity::getActivityId);
+                table.setModel(activitiesModel);
+            }
+            ((PagingTableModel<?>) table.getModel()).reload();
         }
         
         private void loadFacultyData() {
-            SwingWorker<String[][], Void> worker = new SwingWorker<String[][], Void>() {
-                @Override
-                protected String[][] doInBackground() throws Exception {
-                    // Dummy faculty coordinators data
-                    return new String[][]{
-                        {"1", "Dr. Ramesh Kumar", "Computer Science"},
-                        {"2", "Dr. Priya Sharma", "Electronics"},
-                        {"3", "Prof. Amit Patel", "Mechanical Engineering"},
-                        {"4", "Dr. Neha Singh", "Civil Engineering"}
-                    };
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        String[][] data = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (String[] row : data) {
-                            tableModel.addRow(row);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading faculty: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            };
-            worker.execute();
+            // Dummy faculty coordinators data
+            UiTaskScheduler.submit(tableModel, () -> Arrays.<Object[]>asList(
+                    new Object[]{"1", "Dr. Ramesh Kumar", "Computer Science"},
+                    new Object[]{"2", "Dr. Priya Sharma", "Electronics"},
+                    new Object[]{"3", "Prof. Amit Patel", "Mechanical Engineering"},
+                    new Object[]{"4", "Dr. Neha Singh", "Civil Engineering"}
+                ),
+                tableModel::setRows,
+                e -> showLoadError("faculty", e));
         }
         
         private void loadParticipantsData() {
-            SwingWorker<Object[][], Void> worker = new SwingWorker<Object[][], Void>() {
-                @Override
-                protected Object[][] doInBackground() throws Exception {
-                    List<Activity> activities = activityDao.findAll();
-                    List<Object[]> allParticipants = new ArrayList<>();
-                    
-                    for (Activity activity : activities) {
-                        allParticipants.add(new Object[]{
-                            activity.getActivityName(),
-                            "N/A",
-                            "N/A",
-                            "Active"
-                        });
-                    }
-                    
-                    return allParticipants.toArray(new Object[0][]);
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        Object[][] data = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Object[] row : data) {
-                            tableModel.addRow(row);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading participants: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            };
-            worker.execute();
+            UiTaskScheduler.submit(tableModel, () -> participantRows(activity -> true),
+                tableModel::setRows,
+                e -> showLoadError("participants", e));
         }
         
         private void loadMembersAndRolesData() {
-            SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-                @Override
-                protected Void doInBackground() throws Exception {
+            UiTaskScheduler.submit(tableModel, () -> {
                     Map<String, List<String>> membersAndRoles = associationMemberDao.getAssociationMembersAndRoles();
-                    tableModel.setRowCount(0);
+                    List<Object[]> rows = new ArrayList<>();
                     
                     for (String role : membersAndRoles.keySet()) {
                         List<String> members = membersAndRoles.get(role);
-                        tableModel.addRow(new Object[]{
+                        rows.add(new Object[]{
                             role,
                             String.join(", ", members)
                         });
                     }
                     
-                    return null;
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        get();
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading members: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            };
-            worker.execute();
+                    return rows;
+                },
+                tableModel::setRows,
+                e -> showLoadError("members", e));
         }
         
         private void loadSportsActivitiesData() {
-            SwingWorker<List<Activity>, Void> worker = new SwingWorker<List<Activity>, Void>() {
-                @Override
-                protected List<Activity> doInBackground() throws Exception {
+            UiTaskScheduler.submit(tableModel, () -> {
                     List<Activity> allActivities = activityDao.findAll();
-                    List<Activity> sportsActivities = new ArrayList<>();
+                    List<Object[]> rows = new ArrayList<>();
                     
                     for (Activity activity : allActivities) {
-                        String desc = activity.getDescription();
-                        if (desc != null && desc.toLowerCase().contains("sport")) {
-                            sportsActivities.add(activity);
-                        }
-                    }
-                    
-                    return sportsActivities;
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        List<Activity> sportsActivities = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Activity activity : sportsActivities) {
-                            tableModel.addRow(new Object[]{
+                        if (isSports(activity)) {
+                            rows.add(new Object[]{
                                 activity.getActivityId(),
                                 activity.getActivityName(),
                                 activity.getDescription()
                             });
                         }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading sports activities: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
                     }
-                }
-            };
-            worker.execute();
+                    
+                    return rows;
+                },
+                tableModel::setRows,
+                e -> showLoadError("sports activities", e));
         }
         
         private void loadSportsParticipantsData() {
-            SwingWorker<Object[][], Void> worker = new SwingWorker<Object[][], Void>() {
-                @Override
-                protected Object[][] doInBackground() throws Exception {
-                    List<Activity> allActivities = activityDao.findAll();
-                    List<Object[]> sportsParticipants = new ArrayList<>();
-                    
-                    for (Activity activity : allActivities) {
-                        String desc = activity.getDescription();
-                        if (desc != null && desc.toLowerCase().contains("sport")) {
-                            sportsParticipants.add(new Object[]{
-                                activity.getActivityName(),
-                                "N/A",
-                                "N/A",
-                                "Active"
-                            });
-                        }
-                    }
-                    
-                    return sportsParticipants.toArray(new Object[0][]);
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        Object[][] data = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Object[] row : data) {
-                            tableModel.addRow(row);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading sports participants: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            };
-            worker.execute();
+            UiTaskScheduler.submit(tableModel, () -> participantRows(this::isSports),
+                tableModel::setRows,
+                e -> showLoadError("sports participants", e));
         }
         
         private void loadCulturalActivitiesData() {
-            SwingWorker<List<Activity>, Void> worker = new SwingWorker<List<Activity>, Void>() {
-                @Override
-                protected List<Activity> doInBackground() throws Exception {
+            UiTaskScheduler.submit(tableModel, () -> {
                     List<Activity> allActivities = activityDao.findAll();
-                    List<Activity> culturalActivities = new ArrayList<>();
+                    List<Object[]> rows = new ArrayList<>();
                     
                     for (Activity activity : allActivities) {
-                        String desc = activity.getDescription();
-                        if (desc != null) {
-                            String lower = desc.toLowerCase();
-                            if (lower.contains("cultural") || lower.contains("dance") || 
-                                lower.contains("music") || lower.contains("drama")) {
-                                culturalActivities.add(activity);
-                            }
-                        }
-                    }
-                    
-                    return culturalActivities;
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        List<Activity> culturalActivities = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Activity activity : culturalActivities) {
-                            tableModel.addRow(new Object[]{
+                        if (isCultural(activity)) {
+                            rows.add(new Object[]{
                                 activity.getActivityId(),
                                 activity.getActivityName(),
                                 activity.getDescription()
                             });
                         }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading cultural activities: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
                     }
-                }
-            };
-            worker.execute();
+                    
+                    return rows;
+                },
+                tableModel::setRows,
+                e -> showLoadError("cultural activities", e));
         }
         
         private void loadCulturalParticipantsData() {
-            SwingWorker<Object[][], Void> worker = new SwingWorker<Object[][], Void>() {
-                @Override
-                protected Object[][] doInBackground() throws Exception {
-                    List<Activity> allActivities = activityDao.findAll();
-                    List<Object[]> culturalParticipants = new ArrayList<>();
-                    
-                    for (Activity activity : allActivities) {
-                        String desc = activity.getDescription();
-                        if (desc != null) {
-                            String lower = desc.toLowerCase();
-                            if (lower.contains("cultural") || lower.contains("dance") || 
-                                lower.contains("music") || lower.contains("drama")) {
-                                culturalParticipants.add(new Object[]{
-                                    activity.getActivityName(),
-                                    "N/A",
-                                    "N/A",
-                                    "Active"
-                                });
-                            }
-                        }
-                    }
-                    
-                    return culturalParticipants.toArray(new Object[0][]);
+            UiTaskScheduler.submit(tableModel, () -> participantRows(this::isCultural),
+                tableModel::setRows,
+                e -> showLoadError("cultural participants", e));
+        }
+        
+        /**
+         * Builds one row per registration in the matching activities, reading the
+         * registrations from the in-memory ParticipationGraph and the student names
+         * with one batched lookup. Activities nobody registered for get a single row.
+         */
+        private List<Object[]> participantRows(Predicate<Activity> filter) throws SQLException {
+            List<Activity> activities = new ArrayList<>();
+            for (Activity activity : activityDao.findAll()) {
+                if (filter.test(activity)) {
+                    activities.add(activity);
                 }
-                
-                @Override
-                protected void done() {
-                    try {
-                        Object[][] data = get();
-                        tableModel.setRowCount(0);
-                        
-                        for (Object[] row : data) {
-                            tableModel.addRow(row);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
-                            "Error loading cultural participants: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+            }
+            ParticipationGraph graph = ParticipationGraph.current();
+            Set<Integer> studentIds = new HashSet<>();
+            for (Activity activity : activities) {
+                for (int studentId : graph.studentsOf(activity.getActivityId())) {
+                    studentIds.add(studentId);
+                }
+            }
+            Map<Integer, Student> students = studentDao.findByIds(studentIds);
+            
+            List<Object[]> rows = new ArrayList<>();
+            for (Activity activity : activities) {
+                int[] registered = graph.studentsOf(activity.getActivityId());
+                if (registered.length == 0) {
+                    rows.add(new Object[]{activity.getActivityName(), "N/A", "N/A", "No participants"});
+                }
+                for (int studentId : registered) {
+                    Student student = students.get(studentId);
+                    rows.add(new Object[]{
+                        activity.getActivityName(),
+                        studentId,
+                        student != null ? student.getSName() : "N/A",
+                        "Registered"
+                    });
                 }
-            };
-            worker.execute();
+            }
+            return rows;
+        }
+        
+        private boolean isSports(Activity activity) {
+            String desc = activity.getDescription();
+            return desc != null && desc.toLowerCase().contains("sport");
+        }
+        
+        private boolean isCultural(Activity activity) {
+            String desc = activity.getDescription();
+            if (desc == null) {
+                return false;
+            }
+            String lower = desc.toLowerCase();
+            return lower.contains("cultural") || lower.contains("dance") || 
+                lower.contains("music") || lower.contains("drama");
+        }
+        
+        private void showLoadError(String what, Exception e) {
+            JOptionPane.showMessageDialog(AssociationMemberDashboardPanel.this,
+                "Error loading " + what + ": " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 }
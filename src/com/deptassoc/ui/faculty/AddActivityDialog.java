@@ -143,9 +143,9 @@ public class AddActivityDialog extends JDialog {
         ActivityDTO dto = new ActivityDTO(0, activityName, description, startTime, endTime, 0);
         dto.setEventId(eventId);
 
-        new SwingWorker<Boolean, Void>() {
+        new SwingWorker<ActivityDTO, Void>() {
             @Override
-            protected Boolean doInBackground() throws Exception {
+            protected ActivityDTO doInBackground() throws Exception {
                 FacultyDao dao = new FacultyDao();
                 return dao.addActivity(dto);
             }
@@ -153,11 +153,11 @@ public class AddActivityDialog extends JDialog {
             @Override
             protected void done() {
                 try {
-                    boolean success = get();
-                    if (success) {
-                        createdActivity = dto;
+                    ActivityDTO created = get();
+                    if (created != null) {
+                        createdActivity = created;
                         JOptionPane.showMessageDialog(AddActivityDialog.this,
-                                "Activity added successfully.",
+                                "Activity added successfully (ID: " + created.getActivityId() + ").",
                                 "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
                         dispose();
@@ -1,16 +1,22 @@
 package com.deptassoc.ui.faculty;
 
+import com.deptassoc.dao.ChangeVersions;
 import com.deptassoc.dao.FacultyDao;
 import com.deptassoc.dto.ActivityDTO;
 import com.deptassoc.dto.EventDTO;
 import com.deptassoc.dto.StudentDTO;
 import com.deptassoc.swingui.AuthResult;
+import com.deptassoc.swingui.ChangeWatcher;
+import com.deptassoc.swingui.KeyedTableModel;
+import com.deptassoc.swingui.PagingTableModel;
+import com.deptassoc.swingui.UiTaskScheduler;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -23,7 +29,7 @@ public class FacultyDashboardPanel extends JPanel {
     private int facultyId;
 
     // My Events tab
-    private DefaultTableModel eventsTableModel;
+    private KeyedTableModel<Integer, EventDTO> eventsTableModel;
     private JTable eventsTable;
     private JButton refreshEventsButton;
 
@@ -31,13 +37,13 @@ public class FacultyDashboardPanel extends JPanel {
     private JComboBox<EventDTO> eventComboBox;
     private JComboBox<ActivityDTO> activityComboBox;
     private JLabel participantCountLabel;
-    private DefaultTableModel participantsTableModel;
+    private PagingTableModel<StudentDTO> participantsTableModel;
     private JTable participantsTable;
     private JButton refreshParticipantsButton;
 
     // Manage Activities tab
     private JComboBox<EventDTO> manageEventComboBox;
-    private DefaultTableModel activitiesTableModel;
+    private KeyedTableModel<Integer, ActivityDTO> activitiesTableModel;
     private JTable activitiesTable;
     private JButton addActivityButton;
     private JButton deleteActivityButton;
@@ -102,15 +108,17 @@ public class FacultyDashboardPanel extends JPanel {
         headerLabel.setFont(new Font("Arial", Font.BOLD, 14));
         panel.add(headerLabel, BorderLayout.NORTH);
 
-        eventsTableModel = new DefaultTableModel(
+        eventsTableModel = new KeyedTableModel<>(
             new String[]{"Event ID", "Event Name", "Date", "Venue", "Description"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            EventDTO::getEventId,
+            event -> new Object[]{
+                event.getEventId(),
+                event.getEventName(),
+                event.getEventDate(),
+                event.getVenue(),
+                event.getDescription()
             }
-        };
+        );
         eventsTable = new JTable(eventsTableModel);
         eventsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         eventsTable.setRowHeight(25);
@@ -123,6 +131,9 @@ public class FacultyDashboardPanel extends JPanel {
         buttonPanel.add(refreshEventsButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
+        // Reload while this tab is showing whenever the faculty's events change
+        ChangeWatcher.watch(panel, this::loadMyEvents,
+            ChangeVersions.EVENT, ChangeVersions.ASSOCIATION_FACULTY_ADVISERS);
         return panel;
     }
 
@@ -177,15 +188,22 @@ public class FacultyDashboardPanel extends JPanel {
         tableLabel.setFont(new Font("Arial", Font.BOLD, 12));
         tablePanel.add(tableLabel, BorderLayout.NORTH);
 
-        participantsTableModel = new DefaultTableModel(
+        participantsTableModel = new PagingTableModel<>(
             new String[]{"Student ID", "Name", "Email", "Phone", "Registered On"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            (after, limit) -> Collections.emptyList(),
+            student -> new Object[]{
+                student.getStudentId(),
+                student.getName(),
+                student.getEmail(),
+                student.getPhone(),
+                student.getRegisteredOn()
             }
-        };
+        );
+        participantsTableModel.setErrorHandler(ex -> JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
+                "Error loading participants: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
+        participantsTableModel.setKeyFunction(StudentDTO::getStudentId);
         participantsTable = new JTable(participantsTableModel);
         participantsTable.setRowHeight(25);
         JScrollPane scrollPane = new JScrollPane(participantsTable);
@@ -193,6 +211,8 @@ public class FacultyDashboardPanel extends JPanel {
 
         panel.add(tablePanel, BorderLayout.CENTER);
 
+        ChangeWatcher.watch(panel, participantsTableModel::refresh,
+            ChangeVersions.ACTIVITY_PARTICIPANTS, ChangeVersions.STUDENT);
         return panel;
     }
 
@@ -230,15 +250,18 @@ public class FacultyDashboardPanel extends JPanel {
         tableLabel.setFont(new Font("Arial", Font.BOLD, 12));
         tablePanel.add(tableLabel, BorderLayout.NORTH);
 
-        activitiesTableModel = new DefaultTableModel(
+        activitiesTableModel = new KeyedTableModel<>(
             new String[]{"Activity ID", "Activity Name", "Description", "Start Time", "End Time", "Participants"},
-            0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            ActivityDTO::getActivityId,
+            activity -> new Object[]{
+                activity.getActivityId(),
+                activity.getActivityName(),
+                activity.getDescription(),
+                activity.getStartTime(),
+                activity.getEndTime(),
+                activity.getParticipantCount()
             }
-        };
+        );
         activitiesTable = new JTable(activitiesTableModel);
         activitiesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         activitiesTable.setRowHeight(25);
@@ -262,6 +285,7 @@ public class FacultyDashboardPanel extends JPanel {
         buttonPanel.add(refreshActivitiesButton);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
+        ChangeWatcher.watch(panel, this::onManageEventSelected, ChangeVersions.ACTIVITY);
         return panel;
     }
 
@@ -269,57 +293,35 @@ public class FacultyDashboardPanel extends JPanel {
      * Load all events for the faculty.
      */
     private void loadMyEvents() {
-        new SwingWorker<List<EventDTO>, Void>() {
-            @Override
-            protected List<EventDTO> doInBackground() throws Exception {
-                FacultyDao dao = new FacultyDao();
-                return dao.getEventsForFaculty(facultyId);
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<EventDTO> events = get();
-                    
-                    // Update My Events tab
-                    eventsTableModel.setRowCount(0);
-                    for (EventDTO event : events) {
-                        eventsTableModel.addRow(new Object[]{
-                            event.getEventId(),
-                            event.getEventName(),
-                            event.getEventDate(),
-                            event.getVenue(),
-                            event.getDescription()
-                        });
-                    }
-
-                    // Update Participants tab event dropdown
-                    Object selectedEventParticipants = eventComboBox.getSelectedItem();
-                    eventComboBox.removeAllItems();
-                    for (EventDTO event : events) {
-                        eventComboBox.addItem(event);
-                    }
-                    if (!events.isEmpty() && selectedEventParticipants == null) {
-                        eventComboBox.setSelectedIndex(0);
-                    }
+        UiTaskScheduler.submit(eventsTableModel, () -> new FacultyDao().getEventsForFaculty(facultyId),
+            events -> {
+                // Update My Events tab
+                eventsTableModel.setRows(events);
+
+                // Update Participants tab event dropdown
+                Object selectedEventParticipants = eventComboBox.getSelectedItem();
+                eventComboBox.removeAllItems();
+                for (EventDTO event : events) {
+                    eventComboBox.addItem(event);
+                }
+                if (!events.isEmpty() && selectedEventParticipants == null) {
+                    eventComboBox.setSelectedIndex(0);
+                }
 
-                    // Update Manage Activities tab event dropdown
-                    Object selectedEventManage = manageEventComboBox.getSelectedItem();
-                    manageEventComboBox.removeAllItems();
-                    for (EventDTO event : events) {
-                        manageEventComboBox.addItem(event);
-                    }
-                    if (!events.isEmpty() && selectedEventManage == null) {
-                        manageEventComboBox.setSelectedIndex(0);
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
-                            "Error loading events: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
+                // Update Manage Activities tab event dropdown
+                Object selectedEventManage = manageEventComboBox.getSelectedItem();
+                manageEventComboBox.removeAllItems();
+                for (EventDTO event : events) {
+                    manageEventComboBox.addItem(event);
                 }
-            }
-        }.execute();
+                if (!events.isEmpty() && selectedEventManage == null) {
+                    manageEventComboBox.setSelectedIndex(0);
+                }
+            },
+            ex -> JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
+                    "Error loading events: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -336,42 +338,31 @@ public class FacultyDashboardPanel extends JPanel {
         EventDTO selectedEvent = (EventDTO) eventComboBox.getSelectedItem();
         if (selectedEvent == null) {
             activityComboBox.removeAllItems();
-            participantsTableModel.setRowCount(0);
+            participantsTableModel.clear();
             participantCountLabel.setText("Participants: 0");
             return;
         }
 
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                FacultyDao dao = new FacultyDao();
-                return dao.getActivitiesForEvent(selectedEvent.getEventId());
-            }
+        UiTaskScheduler.submit(activityComboBox,
+            () -> new FacultyDao().getActivitiesForEvent(selectedEvent.getEventId()),
+            activities -> {
+                activityComboBox.removeAllItems();
+                for (ActivityDTO activity : activities) {
+                    activityComboBox.addItem(activity);
+                }
 
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    activityComboBox.removeAllItems();
-                    for (ActivityDTO activity : activities) {
-                        activityComboBox.addItem(activity);
-                    }
-                    
-                    // Auto-select first activity if available
-                    if (!activities.isEmpty()) {
-                        activityComboBox.setSelectedIndex(0);
-                    } else {
-                        participantsTableModel.setRowCount(0);
-                        participantCountLabel.setText("Participants: 0");
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
-                            "Error loading activities: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
+                // Auto-select first activity if available
+                if (!activities.isEmpty()) {
+                    activityComboBox.setSelectedIndex(0);
+                } else {
+                    participantsTableModel.clear();
+                    participantCountLabel.setText("Participants: 0");
                 }
-            }
-        }.execute();
+            },
+            ex -> JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
+                    "Error loading activities: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -380,41 +371,18 @@ public class FacultyDashboardPanel extends JPanel {
     private void onActivitySelected() {
         ActivityDTO selectedActivity = (ActivityDTO) activityComboBox.getSelectedItem();
         if (selectedActivity == null) {
-            participantsTableModel.setRowCount(0);
+            participantsTableModel.clear();
             participantCountLabel.setText("Participants: 0");
             return;
         }
 
-        new SwingWorker<List<StudentDTO>, Void>() {
-            @Override
-            protected List<StudentDTO> doInBackground() throws Exception {
-                FacultyDao dao = new FacultyDao();
-                return dao.getParticipantsForActivity(selectedActivity.getActivityId());
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<StudentDTO> students = get();
-                    participantsTableModel.setRowCount(0);
-                    for (StudentDTO student : students) {
-                        participantsTableModel.addRow(new Object[]{
-                            student.getStudentId(),
-                            student.getName(),
-                            student.getEmail(),
-                            student.getPhone(),
-                            student.getRegisteredOn()
-                        });
-                    }
-                    participantCountLabel.setText("Participants: " + students.size());
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
-                            "Error loading participants: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        // Students are read page by page as the table scrolls; the total comes from
+        // the activity's maintained participant_count instead of the loaded rows
+        FacultyDao dao = new FacultyDao();
+        int activityId = selectedActivity.getActivityId();
+        participantsTableModel.reload((after, limit) ->
+            dao.getParticipantsForActivityPage(activityId, after, limit));
+        participantCountLabel.setText("Participants: " + selectedActivity.getParticipantCount());
     }
 
     /**
@@ -426,36 +394,13 @@ public class FacultyDashboardPanel extends JPanel {
             return;
         }
 
-        new SwingWorker<List<ActivityDTO>, Void>() {
-            @Override
-            protected List<ActivityDTO> doInBackground() throws Exception {
-                FacultyDao dao = new FacultyDao();
-                return dao.getActivitiesForEvent(selectedEvent.getEventId());
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<ActivityDTO> activities = get();
-                    activitiesTableModel.setRowCount(0);
-                    for (ActivityDTO activity : activities) {
-                        activitiesTableModel.addRow(new Object[]{
-                            activity.getActivityId(),
-                            activity.getActivityName(),
-                            activity.getDescription(),
-                            activity.getStartTime(),
-                            activity.getEndTime(),
-                            activity.getParticipantCount()
-                        });
-                    }
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
-                            "Error loading activities: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        }.execute();
+        UiTaskScheduler.submit(activitiesTableModel,
+            () -> new FacultyDao().getActivitiesForEvent(selectedEvent.getEventId()),
+            activitiesTableModel::setRows,
+            ex -> JOptionPane.showMessageDialog(FacultyDashboardPanel.this,
+                    "Error loading activities: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -479,7 +424,13 @@ public class FacultyDashboardPanel extends JPanel {
 
         ActivityDTO createdActivity = dialog.getCreatedActivity();
         if (createdActivity != null) {
-            onManageEventSelected(); // Refresh
+            // The insert returned the new ID, so show the row without reloading the event
+            List<ActivityDTO> rows = new ArrayList<>(activitiesTableModel.getRowCount() + 1);
+            for (int i = 0; i < activitiesTableModel.getRowCount(); i++) {
+                rows.add(activitiesTableModel.getRow(i));
+            }
+            rows.add(createdActivity);
+            activitiesTableModel.setRows(rows);
         }
     }
 
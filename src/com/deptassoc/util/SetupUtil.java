@@ -1,6 +1,46 @@
 package com.deptassoc.util;
 
 import com.deptassoc.auth.AuthManager;
+import com.deptassoc.auth.UserRecord;
+import com.deptassoc.auth.UsersJsonReader;
+import com.deptassoc.dao.ActivityDao;
+import com.deptassoc.dao.ActivityParticipantDao;
+import com.deptassoc.dao.EventDao;
+import com.deptassoc.dao.FacultyDao;
+import com.deptassoc.dao.ParticipantDao;
+import com.deptassoc.dao.ParticipationGraph;
+import com.deptassoc.dao.StudentDao;
+import com.deptassoc.db.DBConnectionManager;
+import com.deptassoc.db.DbMetrics;
+import com.deptassoc.model.Activity;
+import com.deptassoc.model.ActivityParticipant;
+import com.deptassoc.model.Student;
+
+import java.io.BufferedReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
 
 /**
  * Utility for one-time setup of users and password generation.
@@ -8,6 +48,11 @@ import com.deptassoc.auth.AuthManager;
  */
 public class SetupUtil {
     
+    /** Rows validated and hashed together by bulk-import. */
+    private static final int IMPORT_CHUNK = 10_000;
+    private static final Set<String> USER_TYPES = new HashSet<>(
+        Arrays.asList("STUDENT", "FACULTY", "ASSOCIATION_MEMBER", "ADMIN"));
+    
     /**
      * Generates a password hash for inclusion in users.json.
      * Usage: java com.deptassoc.util.SetupUtil hash "your_password"
@@ -37,6 +82,69 @@ public class SetupUtil {
                 }
                 break;
                 
+            case "metrics":
+                if (args.length < 2) {
+                    System.out.println("Usage: SetupUtil metrics <host:port>");
+                    break;
+                }
+                try {
+                    dumpMetrics(args[1]);
+                } catch (Exception e) {
+                    System.err.println("Error reading metrics: " + e.getMessage());
+                }
+                break;
+                
+            case "graph-stats":
+                try {
+                    printGraphStats();
+                } catch (Exception e) {
+                    System.err.println("Error reading registrations: " + e.getMessage());
+                }
+                break;
+                
+            case "users-bench":
+                try {
+                    benchmarkUsersLoad(args.length > 1 ? Integer.parseInt(args[1]) : 100_000);
+                } catch (Exception e) {
+                    System.err.println("Error running benchmark: " + e.getMessage());
+                }
+                break;
+                
+            case "bulk-import":
+                if (args.length < 2) {
+                    System.out.println("Usage: SetupUtil bulk-import <file.csv> [--no-id-check]");
+                    break;
+                }
+                try {
+                    bulkImport(Paths.get(args[1]), !(args.length > 2 && args[2].equals("--no-id-check")));
+                } catch (Exception e) {
+                    System.err.println("Error importing users: " + e.getMessage());
+                }
+                break;
+                
+            case "overbook-check":
+                List<String> flags = Arrays.asList(args);
+                if (args.length < 2 || !flags.contains("--yes")) {
+                    System.out.println("Usage: SetupUtil overbook-check <eventId> [registrants] [seats] --yes");
+                    System.out.println("Writes a temporary activity and registrations to the configured database ("
+                        + DBConnectionManager.getProperty("db.host", "localhost") + "/"
+                        + DBConnectionManager.getProperty("db.name", "department_association_v2")
+                        + "); use a test database and pass --yes to confirm.");
+                    break;
+                }
+                try {
+                    int registrants = args.length > 2 && !args[2].startsWith("--") ? Integer.parseInt(args[2]) : 500;
+                    int seats = args.length > 3 && !args[3].startsWith("--")
+                        ? Integer.parseInt(args[3]) : Math.max(1, registrants / 10);
+                    if (!overbookCheck(Integer.parseInt(args[1]), registrants, seats)) {
+                        System.exit(1);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Error running overbooking check: " + e.getMessage());
+                    System.exit(1);
+                }
+                break;
+                
             case "help":
                 printUsage();
                 break;
@@ -66,6 +174,425 @@ public class SetupUtil {
         System.out.println("}");
     }
     
+    /**
+     * Connects to a running application over JMX and prints its database metrics.
+     * The application must be started with -Dcom.sun.management.jmxremote.port=&lt;port&gt;.
+     */
+    private static void dumpMetrics(String hostPort) throws Exception {
+        JMXServiceURL url = new JMXServiceURL("service:jmx:rmi:///jndi/rmi://" + hostPort + "/jmxrmi");
+        try (JMXConnector connector = JMXConnectorFactory.connect(url)) {
+            MBeanServerConnection server = connector.getMBeanServerConnection();
+            
+            ObjectName poolName = new ObjectName(DbMetrics.JMX_DOMAIN + ":type=ConnectionPool");
+            System.out.println("\n=== Connection Pool ===");
+            for (String attr : new String[] { "TotalConnections", "IdleConnections", "ActiveConnections",
+                    "MaxSize", "AcquireCount", "AcquireTimeouts", "AcquireMeanMicros", "AcquireP99Micros",
+                    "AcquireMaxMicros", "StatementCacheHits", "StatementCacheMisses", "StatementCacheHitRatio" }) {
+                System.out.printf("%-24s %s%n", attr, server.getAttribute(poolName, attr));
+            }
+            
+            System.out.println("\n=== Queries ===");
+            System.out.printf("%-50s %8s %6s %10s %9s %9s %9s %9s%n",
+                "label", "count", "errors", "rows", "mean(us)", "p50(us)", "p99(us)", "max(us)");
+            Set<ObjectName> names = new TreeSet<>(
+                server.queryNames(new ObjectName(DbMetrics.JMX_DOMAIN + ":type=Query,*"), null));
+            for (ObjectName name : names) {
+                System.out.printf("%-50s %8d %6d %10d %9.1f %9d %9d %9d%n",
+                    server.getAttribute(name, "Label"),
+                    server.getAttribute(name, "Executions"),
+                    server.getAttribute(name, "Errors"),
+                    server.getAttribute(name, "Rows"),
+                    server.getAttribute(name, "MeanMicros"),
+                    server.getAttribute(name, "P50Micros"),
+                    server.getAttribute(name, "P99Micros"),
+                    server.getAttribute(name, "MaxMicros"));
+            }
+            
+            System.out.println("\n=== Entity Caches ===");
+            System.out.printf("%-12s %6s %8s %10s %10s %9s %10s %13s%n",
+                "name", "size", "max", "hits", "misses", "hit%", "evictions", "invalidations");
+            Set<ObjectName> caches = new TreeSet<>(
+                server.queryNames(new ObjectName(DbMetrics.JMX_DOMAIN + ":type=EntityCache,*"), null));
+            for (ObjectName name : caches) {
+                System.out.printf("%-12s %6d %8d %10d %10d %8.1f%% %10d %13d%n",
+                    server.getAttribute(name, "Name"),
+                    server.getAttribute(name, "Size"),
+                    server.getAttribute(name, "MaxSize"),
+                    server.getAttribute(name, "Hits"),
+                    server.getAttribute(name, "Misses"),
+                    (Double) server.getAttribute(name, "HitRatio") * 100,
+                    server.getAttribute(name, "Evictions"),
+                    server.getAttribute(name, "Invalidations"));
+            }
+        }
+    }
+    
+    /**
+     * Builds the registration graph from the database and prints its size, next to the
+     * measured heap cost of the same rows held as ActivityParticipant objects.
+     * Heap figures come from used-memory deltas around a GC, so they are approximate.
+     */
+    private static void printGraphStats() throws Exception {
+        long start = System.nanoTime();
+        ParticipationGraph graph = ParticipationGraph.scan();
+        long scanMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        System.out.println("\n=== Registration Graph ===");
+        System.out.printf("%-24s %d%n", "Registrations", graph.edgeCount());
+        System.out.printf("%-24s %d%n", "Students", graph.studentIds().length);
+        System.out.printf("%-24s %d%n", "Activities", graph.activityIds().length);
+        System.out.printf("%-24s %d ms%n", "Scan time", scanMillis);
+        System.out.printf("%-24s %d%n", "Array bytes", graph.memoryBytes());
+        System.out.printf("%-24s %.1f%n", "Bytes per registration", graph.bytesPerEdge());
+        
+        long before = usedHeapAfterGc();
+        List<ActivityParticipant> rows = new ActivityParticipantDao().findAll();
+        long objectBytes = usedHeapAfterGc() - before;
+        System.out.printf("%-24s ~%d%n", "Object list bytes", objectBytes);
+        System.out.printf("%-24s ~%.1f%n", "Object bytes per row", rows.isEmpty() ? 0.0 : (double) objectBytes / rows.size());
+    }
+    
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    /**
+     * Writes a users.json with the given number of synthetic users to a temporary file
+     * and times how long UsersJsonReader takes to load it (after a few warm-up runs).
+     */
+    private static void benchmarkUsersLoad(int count) throws Exception {
+        Path file = Files.createTempFile("users-bench", ".json");
+        try {
+            String[] types = { "STUDENT", "FACULTY", "ASSOCIATION_MEMBER" };
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("[\n");
+                for (int i = 0; i < count; i++) {
+                    // Same shape and hash length as real entries
+                    out.write("  {\n    \"type\": \"" + types[i % types.length] + "\",\n    \"id\": " + (i + 1)
+                        + ",\n    \"username\": \"user" + i + "\",\n    \"passwordHash\": \""
+                        + "c2FsdHNhbHRzYWx0c2FsdA==:aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g=\"\n  }"
+                        + (i < count - 1 ? ",\n" : "\n"));
+                }
+                out.write("]\n");
+            }
+            
+            int runs = 5;
+            for (int i = 0; i < 3; i++) {
+                UsersJsonReader.read(file);
+            }
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            int loaded = 0;
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                loaded = UsersJsonReader.read(file).size();
+                long elapsed = System.nanoTime() - start;
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+            
+            System.out.println("\n=== users.json Load Benchmark ===");
+            System.out.printf("%-16s %d%n", "Users", loaded);
+            System.out.printf("%-16s %.1f MB%n", "File size", Files.size(file) / (1024.0 * 1024.0));
+            System.out.printf("%-16s %.1f ms%n", "Best", best / 1e6);
+            System.out.printf("%-16s %.1f ms%n", "Mean", total / 1e6 / runs);
+            System.out.printf("%-16s %.0f%n", "Users/second", loaded / (best / 1e9));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    /**
+     * Load-tests the seat limit on a throwaway activity. Creates an activity with the given
+     * number of seats in an existing event, then registers up to registrants existing
+     * students for it at the same moment (one thread each, released together) and checks
+     * the outcome in the database: participant_count must not exceed max_participants,
+     * must equal the number of activity_participants rows, and every registration reported
+     * as accepted must be there. The registrations and the activity are removed afterwards,
+     * whether the checks pass or not. Prints registrations per second.
+     *
+     * @return true if every check passed
+     */
+    private static boolean overbookCheck(int eventId, int registrants, int seats) throws Exception {
+        if (new EventDao().findById(eventId) == null) {
+            throw new IllegalArgumentException("No event " + eventId);
+        }
+        List<Integer> students = new ArrayList<>();
+        StudentDao studentDao = new StudentDao();
+        int after = 0;
+        while (students.size() < registrants) {
+            List<Student> page = studentDao.findPage(after, 500);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Student student : page) {
+                if (students.size() < registrants) {
+                    students.add(student.getStudentId());
+                }
+            }
+            after = page.get(page.size() - 1).getStudentId();
+        }
+        if (students.size() <= seats) {
+            System.out.println("Warning: " + students.size() + " registrants for " + seats
+                + " seats; the activity will not fill up");
+        }
+        
+        ActivityDao activityDao = new ActivityDao();
+        Activity scratch = new Activity(0, eventId, "overbook-check " + System.currentTimeMillis(),
+            "Temporary activity created by SetupUtil overbook-check", null, null, 0);
+        scratch.setMaxParticipants(seats);
+        int activityId = activityDao.insert(scratch).getActivityId();
+        ActivityParticipantDao participantRows = new ActivityParticipantDao();
+        ParticipantDao participantDao = new ParticipantDao();
+        try {
+            Set<Integer> accepted = ConcurrentHashMap.newKeySet();
+            AtomicInteger refused = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int studentId : students) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        go.await();
+                        if (participantDao.registerStudentForActivity(studentId, activityId)) {
+                            accepted.add(studentId);
+                        } else {
+                            refused.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        System.err.println("Registration of student " + studentId + " failed: " + e.getMessage());
+                    }
+                }, "overbook-" + studentId);
+                thread.start();
+                threads.add(thread);
+            }
+            long start = System.nanoTime();
+            go.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long nanos = System.nanoTime() - start;
+            
+            // Read the outcome from the database, not from the caches
+            int count;
+            int max;
+            try (Connection conn = DBConnectionManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT participant_count, max_participants FROM activity WHERE activity_id = ?")) {
+                stmt.setInt(1, activityId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    count = rs.getInt("participant_count");
+                    max = rs.getInt("max_participants");
+                }
+            }
+            List<ActivityParticipant> rows = participantRows.findByActivity(activityId);
+            Set<Integer> registered = new HashSet<>();
+            for (ActivityParticipant p : rows) {
+                registered.add(p.getStudentId());
+            }
+            
+            System.out.println("\n=== Overbooking Check ===");
+            System.out.printf("%-24s %d%n", "Registrants", students.size());
+            System.out.printf("%-24s %d%n", "Accepted", accepted.size());
+            System.out.printf("%-24s %d%n", "Refused (full)", refused.get());
+            System.out.printf("%-24s %d%n", "Failed", failed.get());
+            System.out.printf("%-24s %d ms%n", "Elapsed", nanos / 1_000_000);
+            System.out.printf("%-24s %.0f%n", "Registrations/second", students.size() / (nanos / 1e9));
+            System.out.printf("%-24s %.0f%n", "Accepted/second", accepted.size() / (nanos / 1e9));
+            System.out.printf("%-24s %d / %d%n", "participant_count / max", count, max);
+            System.out.printf("%-24s %d%n", "Registration rows", rows.size());
+            
+            return check(count <= max, "participant_count <= max_participants")
+                & check(count == rows.size(), "participant_count matches the registration rows")
+                & check(rows.size() == accepted.size(), "rows = accepted registrations")
+                & check(registered.containsAll(accepted), "every accepted registration is stored");
+        } finally {
+            for (ActivityParticipant p : participantRows.findByActivity(activityId)) {
+                participantDao.cancelRegistration(p.getParticipantId());
+            }
+            activityDao.delete(activityId);
+            System.out.println("Removed the temporary activity " + activityId + " and its registrations");
+        }
+    }
+    
+    private static boolean check(boolean passed, String what) {
+        System.out.println((passed ? "PASS  " : "FAIL  ") + what);
+        return passed;
+    }
+    
+    /**
+     * Imports users from a CSV file of type,id,username,password lines (an optional
+     * header line is skipped; the password is everything after the third comma).
+     * 
+     * The file is read line by line and handled in chunks: STUDENT and FACULTY ids in a
+     * chunk are checked with one findByIds lookup per DAO, and the passwords are hashed
+     * in parallel on a fork/join pool sized to the cores. Invalid rows are reported and
+     * skipped. The accepted users are then added in one step (AuthManager.importUsers),
+     * so either all of them are written to users.json or none are. Refuses to run while
+     * the application is running, since it rewrites users.json and empties the journal.
+     */
+    private static void bulkImport(Path csv, boolean checkIds) throws Exception {
+        // Fail before reading the file if the running application holds users.journal
+        AuthManager.openForChanges();
+        long start = System.nanoTime();
+        long chunkNanos = 0;
+        int read = 0;
+        int rejected = 0;
+        List<UserRecord> accepted = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            List<ImportRow> chunk = new ArrayList<>(IMPORT_CHUNK);
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || (lineNo == 1 && line.toLowerCase().startsWith("type,"))) {
+                    continue;
+                }
+                read++;
+                ImportRow row = ImportRow.parse(line, lineNo);
+                if (row == null || !usernames.add(row.username)) {
+                    if (row != null) {
+                        System.err.println("Line " + lineNo + ": duplicate username " + row.username);
+                    }
+                    rejected++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == IMPORT_CHUNK) {
+                    long chunkStart = System.nanoTime();
+                    rejected += importChunk(chunk, checkIds, pool, accepted);
+                    chunkNanos += System.nanoTime() - chunkStart;
+                    chunk.clear();
+                }
+            }
+            long chunkStart = System.nanoTime();
+            rejected += importChunk(chunk, checkIds, pool, accepted);
+            chunkNanos += System.nanoTime() - chunkStart;
+        } finally {
+            pool.shutdown();
+        }
+        
+        List<String> existing = new ArrayList<>();
+        int imported = AuthManager.importUsers(accepted, existing);
+        for (String username : existing) {
+            System.err.println("Already exists, skipped: " + username);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println("\n=== Bulk Import ===");
+        System.out.printf("%-20s %d%n", "Rows read", read);
+        System.out.printf("%-20s %d%n", "Rejected", rejected);
+        System.out.printf("%-20s %d%n", "Already existing", existing.size());
+        System.out.printf("%-20s %d%n", "Imported", imported);
+        System.out.printf("%-20s %d (%d threads)%n", "Check + hash ms", chunkNanos / 1_000_000, pool.getParallelism());
+        System.out.printf("%-20s %.0f ms%n", "Total", seconds * 1000);
+        System.out.printf("%-20s %.0f%n", "Users/second", imported / seconds);
+    }
+    
+    /**
+     * Checks the ids of a chunk of rows against the database, hashes the passwords of
+     * the rows that pass, and adds them to accepted.
+     * 
+     * @return the number of rows rejected
+     */
+    private static int importChunk(List<ImportRow> chunk, boolean checkIds, ForkJoinPool pool,
+                                   List<UserRecord> accepted) throws Exception {
+        List<ImportRow> valid = chunk;
+        if (checkIds) {
+            Set<Integer> studentIds = new HashSet<>();
+            Set<Integer> facultyIds = new HashSet<>();
+            for (ImportRow row : chunk) {
+                if (row.type.equals("STUDENT")) {
+                    studentIds.add(row.id);
+                } else if (row.type.equals("FACULTY")) {
+                    facultyIds.add(row.id);
+                }
+            }
+            Set<Integer> students = studentIds.isEmpty() ? studentIds : new StudentDao().findByIds(studentIds).keySet();
+            Set<Integer> faculty = facultyIds.isEmpty() ? facultyIds : new FacultyDao().findByIds(facultyIds).keySet();
+            
+            valid = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                if ((row.type.equals("STUDENT") && !students.contains(row.id))
+                        || (row.type.equals("FACULTY") && !faculty.contains(row.id))) {
+                    System.err.println("Line " + row.lineNo + ": no " + row.type + " with id " + row.id);
+                } else {
+                    valid.add(row);
+                }
+            }
+        }
+        
+        List<ImportRow> rows = valid;
+        String[] hashes = new String[rows.size()];
+        pool.submit(() -> IntStream.range(0, rows.size()).parallel()
+            .forEach(i -> hashes[i] = PasswordUtil.hash(rows.get(i).password))).get();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            accepted.add(new UserRecord(row.type, row.id, row.username, hashes[i]));
+        }
+        return chunk.size() - rows.size();
+    }
+    
+    /**
+     * One line of a bulk-import file.
+     */
+    private static final class ImportRow {
+        final int lineNo;
+        final String type;
+        final int id;
+        final String username;
+        final String password;
+        
+        private ImportRow(int lineNo, String type, int id, String username, String password) {
+            this.lineNo = lineNo;
+            this.type = type;
+            this.id = id;
+            this.username = username;
+            this.password = password;
+        }
+        
+        /**
+         * Parses a line, or reports why it is invalid and returns null.
+         */
+        static ImportRow parse(String line, int lineNo) {
+            String[] fields = line.split(",", 4);
+            if (fields.length < 4) {
+                System.err.println("Line " + lineNo + ": expected type,id,username,password");
+                return null;
+            }
+            String type = fields[0].trim().toUpperCase();
+            String username = fields[2].trim();
+            if (!USER_TYPES.contains(type)) {
+                System.err.println("Line " + lineNo + ": unknown type " + fields[0].trim());
+                return null;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(fields[1].trim());
+            } catch (NumberFormatException e) {
+                id = 0;
+            }
+            if (id <= 0) {
+                System.err.println("Line " + lineNo + ": invalid id " + fields[1].trim());
+                return null;
+            }
+            if (username.isEmpty() || fields[3].isEmpty()) {
+                System.err.println("Line " + lineNo + ": username and password are required");
+                return null;
+            }
+            return new ImportRow(lineNo, type, id, username, fields[3]);
+        }
+    }
+    
     /**
      * Prints usage information.
      */
@@ -76,9 +603,20 @@ public class SetupUtil {
         System.out.println("\nCommands:");
         System.out.println("  hash <password>     Generate password hash for users.json");
         System.out.println("  init-users          Create initial sample users");
+        System.out.println("  metrics <host:port> Print DB pool/query/cache metrics of a running app via JMX");
+        System.out.println("  graph-stats         Print size and memory per registration of the registration graph");
+        System.out.println("  users-bench [count] Time loading a synthetic users.json (default 100000 users)");
+        System.out.println("  bulk-import <file.csv> [--no-id-check]");
+        System.out.println("                      Add users from type,id,username,password lines");
+        System.out.println("  overbook-check <eventId> [registrants] [seats] --yes");
+        System.out.println("                      Register students concurrently for a temporary seat-limited");
+        System.out.println("                      activity, check it is not overbooked and print the throughput");
+        System.out.println("                      (default 500 registrants for 50 seats; use a test database)");
         System.out.println("  help                Show this help message");
         System.out.println("\nExamples:");
         System.out.println("  java com.deptassoc.util.SetupUtil hash mypassword123");
         System.out.println("  java com.deptassoc.util.SetupUtil init-users");
+        System.out.println("  java com.deptassoc.util.SetupUtil metrics localhost:9010");
+        System.out.println("  java com.deptassoc.util.SetupUtil bulk-import users.csv");
     }
 }